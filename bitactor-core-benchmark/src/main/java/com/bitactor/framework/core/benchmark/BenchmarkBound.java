@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.benchmark;
+
+import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.net.api.ChannelContext;
+import com.bitactor.framework.core.net.api.transport.AbstractClient;
+import com.bitactor.framework.core.rpc.api.support.AbstractBound;
+import com.bitactor.framework.core.rpc.api.support.ModeClients;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 只维护提供者连接的消费者，用于路由基准测试
+ *
+ * @author WXH
+ */
+public class BenchmarkBound extends AbstractBound {
+
+    public BenchmarkBound() {
+        super("benchmark");
+    }
+
+    /**
+     * 路由快照中的可用连接，每个提供者一个
+     *
+     * @return
+     */
+    public List<AbstractClient> snapshotClients() {
+        return getActivityClients();
+    }
+
+    /**
+     * 改造前每次调用重新遍历全部提供者构建可用连接列表
+     *
+     * @return
+     */
+    public List<AbstractClient> rebuildClients() {
+        List<AbstractClient> activityClients = new ArrayList<AbstractClient>();
+        for (ModeClients client : clients.values()) {
+            if (client.isActive()) {
+                activityClients.add(client.getClient());
+            }
+        }
+        return activityClients;
+    }
+
+    @Override
+    public boolean addUrl(UrlProperties url) {
+        putClients(url.getGroupAndId(), new ModeClients(url, () -> new BenchmarkClient(url)));
+        return true;
+    }
+
+    /**
+     * 模拟连接状态变化，下次路由时重建快照
+     */
+    public void changed() {
+        invalidateRouting();
+    }
+
+    @Override
+    public <T> T get(Class<T> api) {
+        return null;
+    }
+
+    @Override
+    public Channel buildChannel(ChannelContext channelContext) {
+        return null;
+    }
+
+    @Override
+    public void activityChannel(Channel channel) {
+        // do nothing
+    }
+
+    @Override
+    protected void shutdownNotify(ModeClients client) {
+        // do nothing
+    }
+
+    @Override
+    public boolean hasActivityChannel() {
+        return !clients.isEmpty();
+    }
+
+    @Override
+    public void shutdown() {
+        for (ModeClients client : clients.values()) {
+            client.close();
+        }
+        clients.clear();
+    }
+}
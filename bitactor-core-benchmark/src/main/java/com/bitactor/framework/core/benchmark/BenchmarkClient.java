@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.benchmark;
+
+import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.net.api.ChannelContext;
+import com.bitactor.framework.core.net.api.Codec;
+import com.bitactor.framework.core.net.api.transport.AbstractClient;
+import com.bitactor.framework.core.net.api.transport.message.MessageAck;
+import com.bitactor.framework.core.net.api.transport.message.MessageClose;
+import com.bitactor.framework.core.net.api.transport.message.MessageData;
+import com.bitactor.framework.core.net.api.transport.message.MessageHandShake;
+import com.bitactor.framework.core.net.api.transport.message.MessageHeartBeat;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteOrder;
+
+/**
+ * 不建立连接的客户端，只用于路由基准测试
+ *
+ * @author WXH
+ */
+public class BenchmarkClient extends AbstractClient {
+
+    public BenchmarkClient(UrlProperties url) {
+        super(null, url);
+    }
+
+    @Override
+    public AbstractClient threadStart() {
+        return this;
+    }
+
+    @Override
+    public void sync() {
+        // 无需等待启动
+    }
+
+    @Override
+    public void start() {
+        // do nothing
+    }
+
+    @Override
+    public void reconnect() {
+        // do nothing
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        // do nothing
+    }
+
+    @Override
+    public boolean isActive() {
+        return true;
+    }
+
+    @Override
+    public boolean isStart() {
+        return true;
+    }
+
+    @Override
+    public UrlProperties getUrl() {
+        return url;
+    }
+
+    @Override
+    public Codec getCodec() {
+        return null;
+    }
+
+    @Override
+    public void registerNotify(ChannelContext channelContext) {
+        // do nothing
+    }
+
+    @Override
+    public void receiveAck(String channelId, MessageAck ack) {
+        // do nothing
+    }
+
+    @Override
+    public void receiveHandShack(String channelId, MessageHandShake handShake) {
+        // do nothing
+    }
+
+    @Override
+    public void receiveClose(String channelId, MessageClose close) {
+        // do nothing
+    }
+
+    @Override
+    public void receiveHeartbeat(String channelId, MessageHeartBeat heartBeat) {
+        // do nothing
+    }
+
+    @Override
+    public void receiveMessage(String channelId, MessageData message) {
+        // do nothing
+    }
+
+    @Override
+    public void closeNotify(String channelId) {
+        // do nothing
+    }
+
+    @Override
+    public void writabilityChangedNotify(String channelId, boolean writable) {
+        // do nothing
+    }
+
+    @Override
+    public ByteOrder getByteOrder() {
+        return ByteOrder.BIG_ENDIAN;
+    }
+
+    @Override
+    public boolean isOpenHeartbeat() {
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.benchmark;
+
+import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.rpc.api.Result;
+import com.bitactor.framework.core.rpc.api.annotation.Broadcast;
+import com.bitactor.framework.core.rpc.api.annotation.NoWaitReturn;
+import com.bitactor.framework.core.rpc.api.invoker.Invoker;
+import com.bitactor.framework.core.rpc.api.invoker.RPCInvocation;
+import com.bitactor.framework.core.rpc.api.proxy.JavassistProxyFactory;
+import com.bitactor.framework.core.rpc.api.support.MethodDictionary;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatch;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatchTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 提供者方法分发：
+ * {@link #reflect()} 为改造前每次请求的处理，反射查找接口、方法和注解后按方法名调用；
+ * {@link #dispatchById()}、{@link #dispatchBySignature()} 为分发表查找后直接调用绑定的方法
+ *
+ * @author WXH
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodDispatchBenchmark {
+    private final Object[] arguments = {"ping"};
+    private String apiId;
+    private String methodName;
+    private Class<?>[] parameterTypes;
+    private RPCInvocation invocation;
+    private Invoker<EchoService> invoker;
+    private MethodDispatchTable dispatchTable;
+    private int methodId;
+
+    @Setup
+    public void setup() throws Throwable {
+        UrlProperties url = new UrlProperties("bitactor", "127.0.0.1", 0);
+        invoker = new JavassistProxyFactory().getInvoker(new EchoService(), EchoService.class, url);
+        Method method = EchoApi.class.getMethod("echo", String.class);
+        apiId = EchoApi.class.getName();
+        methodName = method.getName();
+        parameterTypes = method.getParameterTypes();
+        invocation = new RPCInvocation(methodName, parameterTypes, arguments, false);
+        MethodDictionary dictionary = new MethodDictionary();
+        dictionary.register(EchoApi.class);
+        dispatchTable = new MethodDispatchTable();
+        dispatchTable.register(EchoApi.class, invoker, dictionary);
+        methodId = dictionary.getId(MethodDictionary.signature(apiId, methodName, parameterTypes));
+    }
+
+    @Benchmark
+    public Object reflect() throws Exception {
+        Class<?> api = Class.forName(apiId);
+        Method method = api.getMethod(methodName, parameterTypes);
+        boolean needReturn = method.getAnnotation(NoWaitReturn.class) == null && method.getAnnotation(Broadcast.class) == null;
+        Result result = invoker.invoke(invocation);
+        return needReturn ? result : null;
+    }
+
+    @Benchmark
+    public Object dispatchById() {
+        MethodDispatch dispatch = dispatchTable.get(methodId);
+        Result result = dispatch.getMethodInvoker().invoke(arguments);
+        return dispatch.isNeedReturn() ? result : null;
+    }
+
+    @Benchmark
+    public Object dispatchBySignature() {
+        MethodDispatch dispatch = dispatchTable.get(apiId, methodName, parameterTypes);
+        Result result = dispatch.getMethodInvoker().invoke(arguments);
+        return dispatch.isNeedReturn() ? result : null;
+    }
+}
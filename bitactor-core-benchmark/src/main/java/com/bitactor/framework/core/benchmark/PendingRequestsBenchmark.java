@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.benchmark;
+
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.RPCResponse;
+import com.bitactor.framework.core.rpc.netty.future.PendingRequests;
+import com.bitactor.framework.core.rpc.netty.future.RequestRPCFuture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 64 个调用线程登记并移除等待响应的请求：
+ * {@link #globalMap()} 为改造前全局共享的 ConcurrentHashMap 和全局请求id；
+ * {@link #perChannel()} 为每个连接独立的等待表，每个线程模拟一个连接；
+ * {@link #sharedChannel()} 为所有线程共用一个连接的最差情况
+ *
+ * @author WXH
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class PendingRequestsBenchmark {
+    private static final AtomicLong INVOKE_ID = new AtomicLong();
+    private static final ConcurrentHashMap<Long, RequestRPCFuture<RPCResponse>> FUTURES = new ConcurrentHashMap<>();
+
+    @State(Scope.Thread)
+    public static class ChannelState {
+        private final PendingRequests pending = new PendingRequests();
+        private final RPCRequest request = new RPCRequest();
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedChannelState {
+        private final PendingRequests pending = new PendingRequests();
+    }
+
+    @Benchmark
+    public Object globalMap(ChannelState state) {
+        long reqId = INVOKE_ID.incrementAndGet();
+        state.request.setReqId(reqId);
+        FUTURES.put(reqId, new RequestRPCFuture<>(state.request));
+        return FUTURES.remove(reqId);
+    }
+
+    @Benchmark
+    public Object perChannel(ChannelState state) {
+        state.pending.add(state.request);
+        return state.pending.remove(state.request.getReqId());
+    }
+
+    @Benchmark
+    public Object sharedChannel(ChannelState state, SharedChannelState shared) {
+        shared.pending.add(state.request);
+        return shared.pending.remove(state.request.getReqId());
+    }
+}
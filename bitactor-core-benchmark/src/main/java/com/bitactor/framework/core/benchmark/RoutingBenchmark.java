@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.benchmark;
+
+import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.constant.CommonConstants;
+import com.bitactor.framework.core.constant.RPCConstants;
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.router.PollingRouterAdapter;
+import com.bitactor.framework.core.rpc.api.router.RouterAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 200 个提供者时每次调用的路由开销：
+ * {@link #rebuildPerCall} 为改造前每次调用遍历全部提供者重建可用连接列表；
+ * {@link #snapshot} 为读取路由快照；{@link #snapshotInvalidated} 为每次调用前快照都失效的最差情况
+ *
+ * @author WXH
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoutingBenchmark {
+    @Param({"200"})
+    private int providers;
+    @Param({"2"})
+    private int channels;
+    private final RPCRequest request = new RPCRequest();
+    private final RouterAdapter router = new PollingRouterAdapter();
+    private BenchmarkBound bound;
+
+    @Setup
+    public void setup() {
+        bound = new BenchmarkBound();
+        for (int i = 0; i < providers; i++) {
+            UrlProperties url = new UrlProperties("bitactor", "127.0.0.1", 20000 + i, "benchmark",
+                    CommonConstants.APP_ID_KEY, String.valueOf(i),
+                    RPCConstants.CONSUMERS_CHANNEL_SIZE_KEY, String.valueOf(channels));
+            bound.addUrl(url);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bound.shutdown();
+    }
+
+    @Benchmark
+    public void rebuildPerCall(Blackhole blackhole) {
+        blackhole.consume(router.routerAdapter(bound.rebuildClients(), request));
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole) {
+        blackhole.consume(router.routerAdapter(bound.snapshotClients(), request));
+    }
+
+    @Benchmark
+    public void snapshotInvalidated(Blackhole blackhole) {
+        bound.changed();
+        blackhole.consume(router.routerAdapter(bound.snapshotClients(), request));
+    }
+}
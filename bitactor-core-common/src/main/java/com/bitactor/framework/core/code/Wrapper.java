@@ -79,6 +79,11 @@ public abstract class Wrapper {
         }
     };
     private static AtomicLong WRAPPER_CLASS_COUNTER = new AtomicLong(0);
+    private static final Method[] EMPTY_METHOD_ARRAY = new Method[0];
+    /**
+     * 可按下标调用的方法，下标即数组位置
+     */
+    private Method[] invokeMethods = EMPTY_METHOD_ARRAY;
 
     /**
      * get wrapper.
@@ -111,15 +116,19 @@ public abstract class Wrapper {
         StringBuilder c1 = new StringBuilder("public void setPropertyValue(Object o, String n, Object v){ ");
         StringBuilder c2 = new StringBuilder("public Object getPropertyValue(Object o, String n){ ");
         StringBuilder c3 = new StringBuilder("public Object invokeMethod(Object o, String n, Class[] p, Object[] v) throws " + InvocationTargetException.class.getName() + "{ ");
+        // 按方法下标直接调用，下标由 getMethodIndex 预先解析，避免按方法名逐个比较
+        StringBuilder c4 = new StringBuilder("public Object invokeMethod(Object o, int i, Object[] v) throws " + InvocationTargetException.class.getName() + "{ ");
 
         c1.append(name).append(" w; try{ w = ((").append(name).append(")$1); }catch(Throwable e){ e.printStackTrace(); throw new IllegalArgumentException(e); }");
         c2.append(name).append(" w; try{ w = ((").append(name).append(")$1); }catch(Throwable e){ e.printStackTrace(); throw new IllegalArgumentException(e); }");
         c3.append(name).append(" w; try{ w = ((").append(name).append(")$1); }catch(Throwable e){ e.printStackTrace(); throw new IllegalArgumentException(e); }");
+        c4.append(name).append(" w; try{ w = ((").append(name).append(")$1); }catch(Throwable e){ e.printStackTrace(); throw new IllegalArgumentException(e); }");
 
         Map<String, Class<?>> pts = new HashMap<String, Class<?>>(); // <property name, property types>
         Map<String, Method> ms = new LinkedHashMap<String, Method>(); // <method desc, Method instance>
         List<String> mns = new ArrayList<String>(); // method names.
         List<String> dmns = new ArrayList<String>(); // declaring method names.
+        List<Method> ims = new ArrayList<Method>(); // index invoke methods.
 
         // get all public field.
         for (Field f : c.getFields()) {
@@ -138,6 +147,7 @@ public abstract class Wrapper {
         boolean hasMethod = hasMethods(methods);
         if (hasMethod) {
             c3.append(" try{");
+            c4.append(" try{ switch( $2 ){");
         }
         for (Method m : methods) {
             if (m.getDeclaringClass() == Object.class) //ignore Object's method.
@@ -173,6 +183,13 @@ public abstract class Wrapper {
 
             c3.append(" }");
 
+            c4.append(" case ").append(ims.size()).append(": ");
+            if (m.getReturnType() == Void.TYPE)
+                c4.append(" w.").append(mn).append('(').append(args(m.getParameterTypes(), "$3")).append(");").append(" return null;");
+            else
+                c4.append(" return ($w)w.").append(mn).append('(').append(args(m.getParameterTypes(), "$3")).append(");");
+            ims.add(m);
+
             mns.add(mn);
             if (m.getDeclaringClass() == c)
                 dmns.add(mn);
@@ -183,9 +200,14 @@ public abstract class Wrapper {
             c3.append("     e.printStackTrace(); ");
             c3.append("     throw new java.lang.reflect.InvocationTargetException(e); ");
             c3.append(" }");
+            c4.append(" } } catch(Throwable e) { ");
+            c4.append("     e.printStackTrace(); ");
+            c4.append("     throw new java.lang.reflect.InvocationTargetException(e); ");
+            c4.append(" }");
         }
 
         c3.append(" throw new " + NoSuchMethodException.class.getName() + "(\"Not found method \\\"\"+$2+\"\\\" in class " + c.getName() + ".\"); }");
+        c4.append(" throw new " + NoSuchMethodException.class.getName() + "(\"Not found method index \"+$2+\" in class " + c.getName() + ".\"); }");
 
         // deal with get/set method.
         Matcher matcher;
@@ -232,6 +254,7 @@ public abstract class Wrapper {
         cc.addMethod(c1.toString());
         cc.addMethod(c2.toString());
         cc.addMethod(c3.toString());
+        cc.addMethod(c4.toString());
 
         try {
             Class<?> wc = cc.toClass();
@@ -243,7 +266,9 @@ public abstract class Wrapper {
             int ix = 0;
             for (Method m : ms.values())
                 wc.getField("mts" + ix++).set(null, m.getParameterTypes());
-            return (Wrapper) wc.newInstance();
+            Wrapper wrapper = (Wrapper) wc.newInstance();
+            wrapper.invokeMethods = ims.toArray(new Method[0]);
+            return wrapper;
         } catch (RuntimeException e) {
             throw e;
         } catch (Throwable e) {
@@ -253,6 +278,7 @@ public abstract class Wrapper {
             ms.clear();
             mns.clear();
             dmns.clear();
+            ims.clear();
         }
     }
 
@@ -413,4 +439,33 @@ public abstract class Wrapper {
      * @return return value.
      */
     abstract public Object invokeMethod(Object instance, String mn, Class<?>[] types, Object[] args) throws NoSuchMethodException, InvocationTargetException;
+
+    /**
+     * get method index for {@link #invokeMethod(Object, int, Object[])}.
+     *
+     * @param mn    method name.
+     * @param types parameter types.
+     * @return method index, or -1 if not found.
+     */
+    public int getMethodIndex(String mn, Class<?>[] types) {
+        for (int i = 0; i < invokeMethods.length; i++) {
+            Method m = invokeMethods[i];
+            if (m.getName().equals(mn) && Arrays.equals(m.getParameterTypes(), types)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * invoke method by index.
+     *
+     * @param instance instance.
+     * @param mi       method index, see {@link #getMethodIndex(String, Class[])}.
+     * @param args     argument array.
+     * @return return value.
+     */
+    public Object invokeMethod(Object instance, int mi, Object[] args) throws NoSuchMethodException, InvocationTargetException {
+        throw new NoSuchMethodException("Method index [" + mi + "] not found.");
+    }
 }
@@ -54,6 +54,7 @@ public final class UrlProperties implements Serializable {
     // 临时缓存 不会被序列化
     private volatile transient String ip;
     private volatile transient String cacheStr;
+    private volatile transient String groupAndId;
     private volatile transient String parametersStr;
     private volatile transient String fullProperties;
     private volatile transient Map<String, Number> numbers;
@@ -243,10 +244,13 @@ public final class UrlProperties implements Serializable {
     }
 
     public String getGroupAndId() {
+        if (groupAndId != null) {
+            return groupAndId;
+        }
         if (StringUtils.isEmpty(getGroup()) || StringUtils.isEmpty(getAppId())) {
-            return "server";
+            return groupAndId = "server";
         }
-        return getGroup() + "-" + getAppId();
+        return groupAndId = getGroup() + "-" + getAppId();
     }
 
     public String getGroup() {
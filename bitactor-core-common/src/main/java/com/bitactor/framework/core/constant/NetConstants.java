@@ -78,8 +78,19 @@ public class NetConstants {
     public static final String THREAD_POOL_KEY = "thread.pool";
     public static final String THREAD_POOL_CACHED = "cached";
     public static final String THREAD_POOL_FIXED = "fixed";
+    public static final String THREAD_POOL_EAGER = "eager";
+    public static final String THREAD_POOL_VIRTUAL = "virtual";
     public static final String THREADS_KEY = "threads";
     public static final String QUEUES_KEY = "queues";
+    // 线程池核心线程数（cached、eager）
+    public static final String CORE_THREADS_KEY = "core.threads";
+    public static final int DEFAULT_CORE_THREADS = 0;
+    // 线程池空闲线程存活时间（毫秒）
+    public static final String ALIVE_KEY = "alive";
+    public static final long DEFAULT_ALIVE = 60000L;
+    // 线程池拒绝策略：abort、caller_runs、discard_oldest
+    public static final String THREAD_POOL_REJECT_KEY = "thread.pool.reject";
+    public static final String DEFAULT_THREAD_POOL_REJECT = "abort";
 
 
     // -1 代表不限制
@@ -104,11 +115,43 @@ public class NetConstants {
 
     // 业务线程相关
     public static final String MESSAGE_RECEIVE_EVENT_LOOP_KEY = "message.receive.event.loop.key";
+    public static final String MESSAGE_RECEIVE_EVENT_LOOP_BINDING_KEY = "message.receive.event.loop.binding.key";
     public static final String MSG_RECEIVE_EVENT_LOOP_KEY = "msg.receive.custom.event.loop.open";
     public static final boolean DEFAULT_MSG_RECEIVE_EVENT_LOOP_OPEN = false;
     public static final String MSG_RECEIVE_EVENT_LOOP_PREFIX_KEY = "msg.receive.custom.event.loop.prefix";
     public static final String DEFAULT_MSG_RECEIVE_EVENT_LOOP_PREFIX = "msg-event-loop";
     public static final String MSG_RECEIVE_EVENT_LOOP_THREADS_KEY = "msg.receive.custom.event.loop.threads";
+    // 消息接收事件循环的任务队列类型：mpsc 无锁队列，blocking 阻塞队列
+    public static final String MSG_RECEIVE_EVENT_LOOP_QUEUE_KEY = "msg.receive.custom.event.loop.queue";
+    public static final String MSG_RECEIVE_EVENT_LOOP_QUEUE_MPSC = "mpsc";
+    public static final String MSG_RECEIVE_EVENT_LOOP_QUEUE_BLOCKING = "blocking";
+    public static final String DEFAULT_MSG_RECEIVE_EVENT_LOOP_QUEUE = MSG_RECEIVE_EVENT_LOOP_QUEUE_MPSC;
+    // 消息接收事件循环的任务队列容量，小于等于0表示无界
+    public static final String MSG_RECEIVE_EVENT_LOOP_QUEUE_CAPACITY_KEY = "msg.receive.custom.event.loop.queue.capacity";
+    public static final int DEFAULT_MSG_RECEIVE_EVENT_LOOP_QUEUE_CAPACITY = 0;
+    // 消息接收事件循环的空闲等待策略：park、yield、spin
+    public static final String MSG_RECEIVE_EVENT_LOOP_WAIT_KEY = "msg.receive.custom.event.loop.wait";
+    public static final String DEFAULT_MSG_RECEIVE_EVENT_LOOP_WAIT = "park";
+    // 消息接收事件循环每次唤醒最多连续执行的任务数
+    public static final String MSG_RECEIVE_EVENT_LOOP_BATCH_KEY = "msg.receive.custom.event.loop.batch";
+    public static final int DEFAULT_MSG_RECEIVE_EVENT_LOOP_BATCH = 1024;
+    // 连接绑定消息接收事件循环的选择策略：round_robin 轮询，least_loaded 负载最低
+    public static final String MSG_RECEIVE_EVENT_LOOP_CHOOSER_KEY = "msg.receive.custom.event.loop.chooser";
+    public static final String MSG_RECEIVE_EVENT_LOOP_CHOOSER_ROUND_ROBIN = "round_robin";
+    public static final String MSG_RECEIVE_EVENT_LOOP_CHOOSER_LEAST_LOADED = "least_loaded";
+    public static final String DEFAULT_MSG_RECEIVE_EVENT_LOOP_CHOOSER = MSG_RECEIVE_EVENT_LOOP_CHOOSER_ROUND_ROBIN;
+    // 是否开启连接在消息接收事件循环之间的迁移
+    public static final String MSG_RECEIVE_EVENT_LOOP_REBALANCE_KEY = "msg.receive.custom.event.loop.rebalance";
+    public static final boolean DEFAULT_MSG_RECEIVE_EVENT_LOOP_REBALANCE = false;
+    // 迁移检查周期（毫秒）
+    public static final String MSG_RECEIVE_EVENT_LOOP_REBALANCE_PERIOD_KEY = "msg.receive.custom.event.loop.rebalance.period";
+    public static final long DEFAULT_MSG_RECEIVE_EVENT_LOOP_REBALANCE_PERIOD = 5000;
+    // 最忙事件循环的负载超过最闲事件循环负载的倍数时触发迁移
+    public static final String MSG_RECEIVE_EVENT_LOOP_REBALANCE_THRESHOLD_KEY = "msg.receive.custom.event.loop.rebalance.threshold";
+    public static final double DEFAULT_MSG_RECEIVE_EVENT_LOOP_REBALANCE_THRESHOLD = 2.0;
+    // 消息接收事件循环运行统计的日志输出周期（毫秒），小于等于0不输出
+    public static final String MSG_RECEIVE_EVENT_LOOP_STATS_PERIOD_KEY = "msg.receive.custom.event.loop.stats.period";
+    public static final long DEFAULT_MSG_RECEIVE_EVENT_LOOP_STATS_PERIOD = 0;
 
     // 基础网络协议类型
     public static final String NET_PROTOCOL_KEY = "net.protocol";
@@ -123,6 +166,32 @@ public class NetConstants {
 
     // 握手数据绑定器键
     public static final String HAND_SHAKE_DATA_BOUND_CLASS_KEY = "hand.shake.data.bound.class";
+    // 客户端收到的握手数据，保存在连接属性中
+    public static final String HAND_SHAKE_DATA_KEY = "hand.shake.data";
+
+    // 写缓冲区高低水位（字节），超过高水位后连接变为不可写，低于低水位后恢复可写
+    public static final String WRITE_BUFFER_HIGH_WATER_MARK_KEY = "write.buffer.high.water.mark";
+    public static final int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+    public static final String WRITE_BUFFER_LOW_WATER_MARK_KEY = "write.buffer.low.water.mark";
+    public static final int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+    // 连接不可写时的发送溢出策略
+    public static final String WRITE_OVERFLOW_POLICY_KEY = "write.overflow.policy";
+    // 不处理，继续写入缓冲区
+    public static final String WRITE_OVERFLOW_NONE = "none";
+    // 丢弃新消息
+    public static final String WRITE_OVERFLOW_DROP_NEWEST = "drop_newest";
+    // 消息暂存到有界队列，队列满时丢弃最旧的消息，恢复可写后补发
+    public static final String WRITE_OVERFLOW_DROP_OLDEST = "drop_oldest";
+    // 断开连接
+    public static final String WRITE_OVERFLOW_DISCONNECT = "disconnect";
+    public static final String DEFAULT_WRITE_OVERFLOW_POLICY = WRITE_OVERFLOW_NONE;
+    // drop_oldest 策略暂存队列的容量
+    public static final String WRITE_OVERFLOW_QUEUE_KEY = "write.overflow.queue";
+    public static final int DEFAULT_WRITE_OVERFLOW_QUEUE = 1024;
+
+    // 发送合并，消息先写入缓冲区，每轮事件循环只flush一次
+    public static final String SEND_BATCH_KEY = "send.batch";
+    public static final boolean DEFAULT_SEND_BATCH = false;
 
     // 是否打印延迟
     public static final String LOGGER_DELAY_KEY = "logger.delay";
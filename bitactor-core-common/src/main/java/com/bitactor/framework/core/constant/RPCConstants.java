@@ -78,4 +78,59 @@ public class RPCConstants {
     public static final String CONSUMERS_CHANNEL_SIZE_KEY = "consumers.channel.size";
 
     public static final int DEFAULT_CONSUMERS_CHANNEL_SIZE = 1;
+    //rpc解码时直接从网络缓冲区反序列化，不再拷贝出中间字节数组
+    public static final String RPC_DECODE_ZERO_COPY_KEY = "rpc.decode.zero.copy";
+
+    public static final boolean DEFAULT_RPC_DECODE_ZERO_COPY = true;
+    //rpc解码时IO线程只读取请求id和方法id，消息体延迟到分发线程反序列化；
+    //消息体需从网络缓冲区拷贝为字节数组，参数对象较大、反序列化较重时开启，默认在IO线程上直接从网络缓冲区反序列化
+    public static final String RPC_DECODE_LAZY_KEY = "rpc.decode.lazy";
+
+    public static final boolean DEFAULT_RPC_DECODE_LAZY = false;
+    //提供者在握手时下发方法id字典，消费者调用时只发送方法id
+    public static final String RPC_METHOD_ID_KEY = "rpc.method.id";
+
+    public static final boolean DEFAULT_RPC_METHOD_ID = true;
+    //握手数据中方法id字典的参数键
+    public static final String RPC_METHOD_DICTIONARY_KEY = "rpc.method.dictionary";
+    //rpc请求超时时间轮的刻度（毫秒），时间轮全进程共用，按首个发送请求的连接的url创建
+    public static final String RPC_TIMEOUT_TICK_KEY = "rpc.timeout.tick";
+
+    public static final int DEFAULT_RPC_TIMEOUT_TICK = 10;
+    //rpc请求超时时间轮的槽数（会被调整为2的幂），全进程共用，同上
+    public static final String RPC_TIMEOUT_WHEEL_KEY = "rpc.timeout.wheel";
+
+    public static final int DEFAULT_RPC_TIMEOUT_WHEEL = 512;
+    //提供者分发调用的方式：direct、channel、key、pool、virtual，可在接口或方法上用 @Dispatcher 覆盖
+    public static final String PROVIDER_DISPATCHER_KEY = "provider.dispatcher";
+    //提供者执行调用的线程池类型：fixed、cached、eager、virtual；none 表示未配置
+    //未配置 provider.dispatcher 时：none 使用 direct 分发，virtual 使用 virtual 分发，其他使用 pool 分发
+    public static final String PROVIDER_THREAD_POOL_KEY = "provider.thread.pool";
+
+    public static final String DEFAULT_PROVIDER_THREAD_POOL = "none";
+    //提供者准入控制的目标排队延迟（毫秒），分发队列过载时排队超过该延迟的请求直接返回过载响应，0 表示不开启
+    public static final String PROVIDER_SHED_TARGET_KEY = "provider.shed.target";
+
+    public static final int DEFAULT_PROVIDER_SHED_TARGET = 0;
+    //提供者准入控制的统计区间（毫秒），区间内最小排队延迟超过目标延迟时视为过载；未过载时低优先级请求排队超过该时间丢弃，
+    //普通优先级请求排队超过消费者超时时间（timeout）丢弃
+    public static final String PROVIDER_SHED_INTERVAL_KEY = "provider.shed.interval";
+
+    public static final int DEFAULT_PROVIDER_SHED_INTERVAL = 100;
+    //消费者按提供者自适应限制在途请求数，依据请求延迟相对最小延迟的变化调整上限
+    public static final String CONSUMER_LIMIT_KEY = "consumer.limit";
+
+    public static final boolean DEFAULT_CONSUMER_LIMIT = false;
+    //自适应限流的初始上限
+    public static final String CONSUMER_LIMIT_INITIAL_KEY = "consumer.limit.initial";
+
+    public static final int DEFAULT_CONSUMER_LIMIT_INITIAL = 20;
+    //自适应限流的最大上限
+    public static final String CONSUMER_LIMIT_MAX_KEY = "consumer.limit.max";
+
+    public static final int DEFAULT_CONSUMER_LIMIT_MAX = 1000;
+    //达到上限时排队等待的时间（毫秒），0 表示立即拒绝
+    public static final String CONSUMER_LIMIT_QUEUE_TIMEOUT_KEY = "consumer.limit.queue.timeout";
+
+    public static final int DEFAULT_CONSUMER_LIMIT_QUEUE_TIMEOUT = 0;
 }
@@ -18,16 +18,46 @@
 package com.bitactor.framework.core.eventloop;
 
 import com.bitactor.framework.core.eventloop.abs.AbsSingleThreadEventLoop;
+import com.bitactor.framework.core.eventloop.abs.BitactorRejectedExecutionHandlers;
 import com.bitactor.framework.core.eventloop.inf.IEventLoopGroup;
+import com.bitactor.framework.core.eventloop.queue.MpscLinkedQueue;
+import com.bitactor.framework.core.eventloop.stats.EventExecutorStats;
 import com.bitactor.framework.core.eventloop.thread.DefaultBitactorThreadFactory;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * @author WXH
  */
 public class BitactorEventLoop extends AbsSingleThreadEventLoop {
+    /**
+     * {@link WaitStrategy#YIELD} 挂起前让出CPU的次数
+     */
+    private static final int YIELD_TIMES = 100;
+    /**
+     * 空闲等待策略，为 null 时使用阻塞队列
+     */
+    private final WaitStrategy waitStrategy;
+    /**
+     * 每次唤醒最多连续执行的任务数
+     */
+    private final int maxBatch;
+    private volatile Thread loopThread;
+    /**
+     * 事件循环线程是否已挂起，生产者只在挂起时才需要唤醒
+     */
+    private volatile boolean parked;
+    /**
+     * 绑定到当前事件循环的连接数
+     */
+    private final AtomicInteger boundChannels = new AtomicInteger();
+    /**
+     * 已执行的任务数，只由事件循环线程写入
+     */
+    private volatile long completedTasks;
 
     public BitactorEventLoop() {
         this((IEventLoopGroup) null);
@@ -47,17 +77,106 @@ public class BitactorEventLoop extends AbsSingleThreadEventLoop {
 
     public BitactorEventLoop(IEventLoopGroup parent, ThreadFactory threadFactory) {
         super(parent, threadFactory, true);
+        this.waitStrategy = null;
+        this.maxBatch = Integer.MAX_VALUE;
     }
 
     public BitactorEventLoop(IEventLoopGroup parent, Executor executor) {
         super(parent, executor, true);
+        this.waitStrategy = null;
+        this.maxBatch = Integer.MAX_VALUE;
     }
+
+    /**
+     * 使用无锁的多生产者单消费者队列
+     *
+     * @param parent        所属事件循环组
+     * @param executor      执行器
+     * @param waitStrategy  空闲等待策略
+     * @param queueCapacity 任务队列容量，小于等于 0 表示无界
+     * @param maxBatch      每次唤醒最多连续执行的任务数
+     */
+    public BitactorEventLoop(IEventLoopGroup parent, Executor executor, WaitStrategy waitStrategy, int queueCapacity, int maxBatch) {
+        super(parent, executor, false, new MpscLinkedQueue<>(queueCapacity), new MpscLinkedQueue<>(),
+                BitactorRejectedExecutionHandlers.reject());
+        this.waitStrategy = waitStrategy == null ? WaitStrategy.PARK : waitStrategy;
+        this.maxBatch = maxBatch > 0 ? maxBatch : Integer.MAX_VALUE;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * 连接绑定到当前事件循环
+     */
+    public void bindChannel() {
+        boundChannels.incrementAndGet();
+    }
+
+    /**
+     * 连接解除与当前事件循环的绑定
+     */
+    public void unbindChannel() {
+        boundChannels.decrementAndGet();
+    }
+
+    public int getBoundChannels() {
+        return boundChannels.get();
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * 当前负载：等待执行的任务数与绑定的连接数之和
+     *
+     * @return
+     */
+    public int load() {
+        return pendingTasks() + boundChannels.get();
+    }
+
     @Override
     protected void run() {
-        for (;;) {
+        if (waitStrategy == null) {
+            runBlocking();
+            return;
+        }
+        loopThread = Thread.currentThread();
+        EventExecutorStats stats = stats();
+        boolean statsEnabled = stats.isEnabled();
+        int idle = 0;
+        for (; ; ) {
+            long start = statsEnabled ? System.nanoTime() : 0;
+            if (runTasks(maxBatch, statsEnabled) > 0) {
+                if (statsEnabled) {
+                    stats.recordBusy(System.nanoTime() - start);
+                }
+                idle = 0;
+            } else {
+                idle = idle(idle);
+            }
+
+            if (confirmShutdown()) {
+                break;
+            }
+        }
+    }
+
+    private void runBlocking() {
+        EventExecutorStats stats = stats();
+        boolean statsEnabled = stats.isEnabled();
+        for (; ; ) {
             Runnable task = takeTask();
             if (task != null) {
+                long start = statsEnabled ? System.nanoTime() : 0;
                 task.run();
+                if (statsEnabled) {
+                    stats.recordBusy(System.nanoTime() - start);
+                }
+                completedTasks++;
                 updateLastExecutionTime();
             }
 
@@ -66,4 +185,85 @@ public class BitactorEventLoop extends AbsSingleThreadEventLoop {
             }
         }
     }
+
+    /**
+     * 批量执行任务
+     *
+     * @param max          最多执行的任务数
+     * @param statsEnabled 是否记录队列深度
+     * @return 执行的任务数
+     */
+    private int runTasks(int max, boolean statsEnabled) {
+        // 先把已到期的定时任务转入任务队列，与普通任务按到达顺序执行
+        fetchFromScheduledTaskQueue();
+        if (statsEnabled) {
+            stats().recordQueueDepth(pendingTasks());
+        }
+        int ran = 0;
+        Runnable task;
+        while (ran < max && (task = pollTask()) != null) {
+            safeExecute(task);
+            ran++;
+        }
+        if (ran > 0) {
+            completedTasks += ran;
+            updateLastExecutionTime();
+        }
+        afterRunningAllTasks();
+        return ran;
+    }
+
+    /**
+     * 按等待策略空闲等待
+     *
+     * @param idle 连续空闲的次数
+     * @return 新的连续空闲次数
+     */
+    private int idle(int idle) {
+        switch (waitStrategy) {
+            case SPIN:
+                return idle + 1;
+            case YIELD:
+                if (idle < YIELD_TIMES) {
+                    Thread.yield();
+                    return idle + 1;
+                }
+                park();
+                return 0;
+            default:
+                park();
+                return 0;
+        }
+    }
+
+    private void park() {
+        parked = true;
+        try {
+            // 先标记再检查，保证生产者入队后一定能看到挂起标记并唤醒
+            if (!hasTasks() && !isShuttingDown()) {
+                // 有定时任务时只挂起到最近一个定时任务到期
+                long delayNanos = nextScheduledTaskNano();
+                if (delayNanos < 0) {
+                    LockSupport.park(this);
+                } else if (delayNanos > 0) {
+                    LockSupport.parkNanos(this, delayNanos);
+                }
+                // 清除中断标记，避免之后的 park 立即返回
+                Thread.interrupted();
+            }
+        } finally {
+            parked = false;
+        }
+    }
+
+    @Override
+    protected void wakeup(boolean inEventLoop) {
+        if (waitStrategy == null) {
+            super.wakeup(inEventLoop);
+            return;
+        }
+        if (!inEventLoop && parked) {
+            LockSupport.unpark(loopThread);
+        }
+    }
 }
@@ -18,7 +18,13 @@
 package com.bitactor.framework.core.eventloop;
 
 import com.bitactor.framework.core.eventloop.abs.AbsMultiThreadEventLoopGroup;
+import com.bitactor.framework.core.eventloop.choose.IEventExecutorChooserFactory;
+import com.bitactor.framework.core.eventloop.inf.IEventExecutor;
 import com.bitactor.framework.core.eventloop.inf.IEventLoop;
+import com.bitactor.framework.core.eventloop.stats.EventExecutorStatsSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 
@@ -64,8 +70,63 @@ public class BitactorEventLoopGroup extends AbsMultiThreadEventLoopGroup {
         super(nThreads, executor);
     }
 
+    /**
+     * Create a new instance whose event loops use a lock-free MPSC task queue
+     *
+     * @param nThreads      the number of threads to use
+     * @param threadFactory the {@link ThreadFactory} or {@code null} to use the default
+     * @param waitStrategy  the {@link WaitStrategy} used when an event loop is idle
+     * @param queueCapacity the task queue capacity of each event loop, {@code <= 0} means unbounded
+     * @param maxBatch      the maximum number of tasks run per wakeup
+     */
+    public BitactorEventLoopGroup(int nThreads, ThreadFactory threadFactory, WaitStrategy waitStrategy, int queueCapacity, int maxBatch) {
+        super(nThreads, threadFactory, waitStrategy, queueCapacity, maxBatch);
+    }
+
+    /**
+     * Create a new instance
+     *
+     * @param nThreads       the number of threads to use
+     * @param threadFactory  the {@link ThreadFactory} or {@code null} to use the default
+     * @param chooserFactory the {@link IEventExecutorChooserFactory} used by {@link #next()}
+     */
+    public BitactorEventLoopGroup(int nThreads, ThreadFactory threadFactory, IEventExecutorChooserFactory chooserFactory) {
+        super(nThreads, threadFactory, chooserFactory);
+    }
+
+    /**
+     * Create a new instance whose event loops use a lock-free MPSC task queue
+     *
+     * @param nThreads       the number of threads to use
+     * @param threadFactory  the {@link ThreadFactory} or {@code null} to use the default
+     * @param chooserFactory the {@link IEventExecutorChooserFactory} used by {@link #next()}
+     * @param waitStrategy   the {@link WaitStrategy} used when an event loop is idle
+     * @param queueCapacity  the task queue capacity of each event loop, {@code <= 0} means unbounded
+     * @param maxBatch       the maximum number of tasks run per wakeup
+     */
+    public BitactorEventLoopGroup(int nThreads, ThreadFactory threadFactory, IEventExecutorChooserFactory chooserFactory,
+                                  WaitStrategy waitStrategy, int queueCapacity, int maxBatch) {
+        super(nThreads, threadFactory, chooserFactory, waitStrategy, queueCapacity, maxBatch);
+    }
+
+    /**
+     * 读取组内每个事件循环的运行统计
+     *
+     * @return
+     */
+    public List<EventExecutorStatsSnapshot> statsSnapshot() {
+        List<EventExecutorStatsSnapshot> snapshots = new ArrayList<>(executorCount());
+        for (IEventExecutor executor : this) {
+            snapshots.add(((BitactorEventLoop) executor).statsSnapshot());
+        }
+        return snapshots;
+    }
+
     @Override
     protected IEventLoop newChild(Executor executor, Object... args) throws Exception {
+        if (args.length >= 3 && args[0] instanceof WaitStrategy) {
+            return new BitactorEventLoop(this, executor, (WaitStrategy) args[0], (Integer) args[1], (Integer) args[2]);
+        }
         return new BitactorEventLoop(this, executor);
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.eventloop;
+
+/**
+ * 事件循环空闲时的等待策略
+ *
+ * @author WXH
+ */
+public enum WaitStrategy {
+    /**
+     * 直接挂起线程，由生产者唤醒，CPU占用最低
+     */
+    PARK,
+    /**
+     * 先让出CPU若干次，仍无任务再挂起，兼顾延迟和CPU占用
+     */
+    YIELD,
+    /**
+     * 忙等，延迟最低，独占一个CPU核
+     */
+    SPIN;
+
+    /**
+     * 按名称解析，无法识别时返回 {@link #PARK}
+     *
+     * @param name
+     * @return
+     */
+    public static WaitStrategy of(String name) {
+        if (name != null) {
+            for (WaitStrategy strategy : values()) {
+                if (strategy.name().equalsIgnoreCase(name.trim())) {
+                    return strategy;
+                }
+            }
+        }
+        return PARK;
+    }
+}
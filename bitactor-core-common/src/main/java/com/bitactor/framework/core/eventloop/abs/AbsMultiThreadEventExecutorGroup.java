@@ -55,6 +55,19 @@ public abstract class AbsMultiThreadEventExecutorGroup extends AbsEventExecutorG
         this(nThreads, threadFactory == null ? null : new BitactorThreadPerTaskExecutor(threadFactory), args);
     }
 
+    /**
+     * 创建一个新实例。
+     *
+     * @param nThreads       这个实例将使用的线程数。
+     * @param threadFactory  使用的threadFactory，或者{@code null}如果应该使用默认值。
+     * @param chooserFactory 执行器选择策略
+     * @param args           参数将传递给每个{@link #newChild(Executor, Object...)}调用
+     */
+    protected AbsMultiThreadEventExecutorGroup(int nThreads, ThreadFactory threadFactory,
+                                               IEventExecutorChooserFactory chooserFactory, Object... args) {
+        this(nThreads, threadFactory == null ? null : new BitactorThreadPerTaskExecutor(threadFactory), chooserFactory, args);
+    }
+
     /**
      * 创建一个新实例。
      *
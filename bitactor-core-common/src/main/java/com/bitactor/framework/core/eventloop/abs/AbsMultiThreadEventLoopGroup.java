@@ -49,6 +49,11 @@ public abstract class AbsMultiThreadEventLoopGroup extends AbsMultiThreadEventEx
         super(nThreads == 0 ? DEFAULT_EVENT_LOOP_THREADS : nThreads, executor, chooserFactory, args);
     }
 
+    protected AbsMultiThreadEventLoopGroup(int nThreads, ThreadFactory threadFactory, IEventExecutorChooserFactory chooserFactory,
+                                           Object... args) {
+        super(nThreads == 0 ? DEFAULT_EVENT_LOOP_THREADS : nThreads, threadFactory, chooserFactory, args);
+    }
+
     @Override
     protected ThreadFactory newDefaultThreadFactory() {
         return new DefaultBitactorThreadFactory(getClass(), Thread.MAX_PRIORITY);
@@ -0,0 +1,182 @@
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bitactor.framework.core.eventloop.abs;
+
+import com.bitactor.framework.core.eventloop.inf.IEventExecutorGroup;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 支持定时任务的执行器，定时任务保存在按到期时间排序的堆中，只在事件循环线程上读写
+ *
+ * @author WXH
+ */
+public abstract class AbsScheduledEventExecutor extends AbsEventExecutor {
+    private static final long START_TIME = System.nanoTime();
+
+    private PriorityQueue<ScheduledFutureTask<?>> scheduledTaskQueue;
+
+    protected AbsScheduledEventExecutor() {
+    }
+
+    protected AbsScheduledEventExecutor(IEventExecutorGroup parent) {
+        super(parent);
+    }
+
+    protected static long nanoTime() {
+        return System.nanoTime() - START_TIME;
+    }
+
+    Queue<ScheduledFutureTask<?>> scheduledTaskQueue() {
+        if (scheduledTaskQueue == null) {
+            scheduledTaskQueue = new PriorityQueue<>();
+        }
+        return scheduledTaskQueue;
+    }
+
+    private static boolean isNullOrEmpty(Queue<ScheduledFutureTask<?>> queue) {
+        return queue == null || queue.isEmpty();
+    }
+
+    /**
+     * 取消全部定时任务，只能在事件循环线程上调用
+     */
+    protected void cancelScheduledTasks() {
+        assert inEventLoop();
+        PriorityQueue<ScheduledFutureTask<?>> scheduledTaskQueue = this.scheduledTaskQueue;
+        if (isNullOrEmpty(scheduledTaskQueue)) {
+            return;
+        }
+        ScheduledFutureTask<?>[] scheduledTasks = scheduledTaskQueue.toArray(new ScheduledFutureTask<?>[0]);
+        scheduledTaskQueue.clear();
+        for (ScheduledFutureTask<?> task : scheduledTasks) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * 取出一个在 {@code nanoTime} 时已到期的定时任务
+     *
+     * @param nanoTime
+     * @return 没有到期任务时返回 {@code null}
+     */
+    protected final Runnable pollScheduledTask(long nanoTime) {
+        assert inEventLoop();
+        Queue<ScheduledFutureTask<?>> scheduledTaskQueue = this.scheduledTaskQueue;
+        ScheduledFutureTask<?> scheduledTask = scheduledTaskQueue == null ? null : scheduledTaskQueue.peek();
+        if (scheduledTask == null || scheduledTask.deadlineNanos() > nanoTime) {
+            return null;
+        }
+        scheduledTaskQueue.remove();
+        return scheduledTask;
+    }
+
+    /**
+     * 距离最近一个定时任务到期的纳秒数
+     *
+     * @return 没有定时任务时返回 -1
+     */
+    protected final long nextScheduledTaskNano() {
+        ScheduledFutureTask<?> scheduledTask = peekScheduledTask();
+        return scheduledTask == null ? -1 : scheduledTask.delayNanos(nanoTime());
+    }
+
+    final ScheduledFutureTask<?> peekScheduledTask() {
+        Queue<ScheduledFutureTask<?>> scheduledTaskQueue = this.scheduledTaskQueue;
+        return scheduledTaskQueue == null ? null : scheduledTaskQueue.peek();
+    }
+
+    /**
+     * 是否有已到期的定时任务
+     */
+    protected final boolean hasScheduledTasks() {
+        ScheduledFutureTask<?> scheduledTask = peekScheduledTask();
+        return scheduledTask != null && scheduledTask.deadlineNanos() <= nanoTime();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        checkScheduleArgs(command, unit);
+        return schedule(new ScheduledFutureTask<Void>(this, command, null,
+                ScheduledFutureTask.deadlineNanos(unit.toNanos(Math.max(0, delay)))));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        checkScheduleArgs(callable, unit);
+        return schedule(new ScheduledFutureTask<V>(this, callable,
+                ScheduledFutureTask.deadlineNanos(unit.toNanos(Math.max(0, delay)))));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        checkScheduleArgs(command, unit);
+        if (initialDelay < 0) {
+            throw new IllegalArgumentException(String.format("initialDelay: %d (expected: >= 0)", initialDelay));
+        }
+        if (period <= 0) {
+            throw new IllegalArgumentException(String.format("period: %d (expected: > 0)", period));
+        }
+        return schedule(new ScheduledFutureTask<Void>(this, command, null,
+                ScheduledFutureTask.deadlineNanos(unit.toNanos(initialDelay)), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        checkScheduleArgs(command, unit);
+        if (initialDelay < 0) {
+            throw new IllegalArgumentException(String.format("initialDelay: %d (expected: >= 0)", initialDelay));
+        }
+        if (delay <= 0) {
+            throw new IllegalArgumentException(String.format("delay: %d (expected: > 0)", delay));
+        }
+        return schedule(new ScheduledFutureTask<Void>(this, command, null,
+                ScheduledFutureTask.deadlineNanos(unit.toNanos(initialDelay)), -unit.toNanos(delay)));
+    }
+
+    private static void checkScheduleArgs(Object task, TimeUnit unit) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit");
+        }
+    }
+
+    private <V> ScheduledFuture<V> schedule(final ScheduledFutureTask<V> task) {
+        if (inEventLoop()) {
+            scheduledTaskQueue().add(task);
+        } else {
+            // 其他线程提交时切换到事件循环线程入堆，事件循环会因新任务被唤醒并重新计算等待时间
+            execute(() -> scheduledTaskQueue().add(task));
+        }
+        return task;
+    }
+
+    final void removeScheduled(final ScheduledFutureTask<?> task) {
+        if (inEventLoop()) {
+            scheduledTaskQueue().remove(task);
+        } else if (!isShutdown()) {
+            execute(() -> removeScheduled(task));
+        }
+    }
+}
@@ -20,6 +20,8 @@ package com.bitactor.framework.core.eventloop.abs;
 
 import com.bitactor.framework.core.eventloop.inf.IEventExecutor;
 import com.bitactor.framework.core.eventloop.inf.IEventExecutorGroup;
+import com.bitactor.framework.core.eventloop.stats.EventExecutorStats;
+import com.bitactor.framework.core.eventloop.stats.EventExecutorStatsSnapshot;
 import com.bitactor.framework.core.eventloop.thread.BitactorRejectedExecutionHandler;
 import com.bitactor.framework.core.eventloop.thread.BitactorThreadPerTaskExecutor;
 import com.bitactor.framework.core.eventloop.thread.ThreadExecutorMap;
@@ -32,10 +34,14 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
-public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
+public abstract class AbsSingleThreadEventExecutor extends AbsScheduledEventExecutor {
     private static final Logger logger = LoggerFactory.getLogger(AbsSingleThreadEventExecutor.class);
     static final int DEFAULT_MAX_PENDING_EXECUTOR_TASKS = Math.max(16,
             SysPropertyUtil.getInt("com.bitactor.framework.maxPendingTasks", Integer.MAX_VALUE));
+    /**
+     * 运行统计的采样率，每多少个任务记录一次等待和执行时间，小于等于0关闭
+     */
+    static final int DEFAULT_STATS_SAMPLE_RATE = SysPropertyUtil.getInt("com.bitactor.framework.eventloop.statsSampleRate", 64);
 
 
     private static final int ST_NOT_STARTED = 1;
@@ -56,6 +62,7 @@ public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
 
 
     private final Queue<Runnable> taskQueue;
+    private final EventExecutorStats stats = new EventExecutorStats(DEFAULT_STATS_SAMPLE_RATE);
 
     private volatile Thread thread;
     private final Executor executor;
@@ -207,16 +214,63 @@ public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
         }
         BlockingQueue<Runnable> taskQueue = (BlockingQueue<Runnable>) this.taskQueue;
         for (; ; ) {
-            Runnable task = null;
-            try {
-                task = taskQueue.take();
-                if (task == WAKEUP_TASK) {
-                    task = null;
+            ScheduledFutureTask<?> scheduledTask = peekScheduledTask();
+            if (scheduledTask == null) {
+                Runnable task = null;
+                try {
+                    task = taskQueue.take();
+                    if (task == WAKEUP_TASK) {
+                        task = null;
+                    }
+                } catch (InterruptedException e) {
+                    // Ignore
+                }
+                return task;
+            } else {
+                // 有定时任务时最多等待到最近一个定时任务到期
+                long delayNanos = scheduledTask.delayNanos(nanoTime());
+                Runnable task = null;
+                if (delayNanos > 0) {
+                    try {
+                        task = taskQueue.poll(delayNanos, TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        // Waken up.
+                        return null;
+                    }
+                }
+                if (task == null) {
+                    // 等待超时，将到期的定时任务转入任务队列，保证定时任务不会因普通任务持续到达而饿死
+                    fetchFromScheduledTaskQueue();
+                    task = taskQueue.poll();
+                }
+
+                if (task != null) {
+                    return task == WAKEUP_TASK ? null : task;
                 }
-            } catch (InterruptedException e) {
-                // Ignore
             }
-            return task;
+        }
+    }
+
+    /**
+     * 将已到期的定时任务转入任务队列
+     *
+     * @return 全部到期任务均已转入时返回 {@code true}，任务队列已满时返回 {@code false}
+     */
+    protected boolean fetchFromScheduledTaskQueue() {
+        if (!hasScheduledTasks()) {
+            return true;
+        }
+        long nanoTime = nanoTime();
+        for (; ; ) {
+            Runnable scheduledTask = pollScheduledTask(nanoTime);
+            if (scheduledTask == null) {
+                return true;
+            }
+            if (!taskQueue.offer(scheduledTask)) {
+                // 任务队列已满，放回定时任务堆等待下次转入
+                scheduledTaskQueue().add((ScheduledFutureTask<?>) scheduledTask);
+                return false;
+            }
         }
     }
 
@@ -247,6 +301,23 @@ public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
         return taskQueue.size();
     }
 
+    /**
+     * 运行统计，子类在事件循环线程上记录忙碌时间和队列深度
+     */
+    protected final EventExecutorStats stats() {
+        return stats;
+    }
+
+    /**
+     * 读取运行统计的快照
+     *
+     * @return
+     */
+    public EventExecutorStatsSnapshot statsSnapshot() {
+        Thread thread = this.thread;
+        return stats.snapshot(thread == null ? toString() : thread.getName(), pendingTasks());
+    }
+
     /**
      * Add a task to the task queue, or throws a {@link RejectedExecutionException} if this instance was shutdown
      * before.
@@ -277,12 +348,6 @@ public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
         return taskQueue.remove(task);
     }
 
-    private static final long START_TIME = System.nanoTime();
-
-    static long nanoTime() {
-        return System.nanoTime() - START_TIME;
-    }
-
     /**
      * Poll all tasks from the task queue and run them via {@link Runnable#run()} method.
      *
@@ -293,9 +358,12 @@ public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
         boolean fetchedAll;
         boolean ranAtLeastOne = false;
 
-        if (runAllTasksFrom(taskQueue)) {
-            ranAtLeastOne = true;
-        }
+        do {
+            fetchedAll = fetchFromScheduledTaskQueue();
+            if (runAllTasksFrom(taskQueue)) {
+                ranAtLeastOne = true;
+            }
+        } while (!fetchedAll);
         if (ranAtLeastOne) {
             lastExecutionTime = nanoTime();
         }
@@ -328,6 +396,7 @@ public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
      * the tasks in the task queue and returns if it ran longer than {@code timeoutNanos}.
      */
     protected boolean runAllTasks(long timeoutNanos) {
+        fetchFromScheduledTaskQueue();
         Runnable task = pollTask();
         if (task == null) {
             afterRunningAllTasks();
@@ -587,6 +656,8 @@ public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
         }
 
 
+        cancelScheduledTasks();
+
         if (gracefulShutdownStartTime == 0) {
             gracefulShutdownStartTime = nanoTime();
         }
@@ -648,6 +719,9 @@ public abstract class AbsSingleThreadEventExecutor extends AbsEventExecutor {
         }
 
         boolean inEventLoop = inEventLoop();
+        if (stats.shouldSample()) {
+            task = stats.wrap(task, taskQueue.size());
+        }
         addTask(task);
         if (!inEventLoop) {
             startThread();
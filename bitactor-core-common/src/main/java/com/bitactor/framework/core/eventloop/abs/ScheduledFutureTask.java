@@ -0,0 +1,142 @@
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bitactor.framework.core.eventloop.abs;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 事件循环上的定时任务，到期后在事件循环线程上执行
+ *
+ * @author WXH
+ */
+final class ScheduledFutureTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+    private static final AtomicLong SEQUENCER = new AtomicLong();
+
+    private final AbsScheduledEventExecutor executor;
+    /**
+     * 同一到期时间的任务按提交顺序执行
+     */
+    private final long sequence = SEQUENCER.getAndIncrement();
+    private long deadlineNanos;
+    /**
+     * 0 表示只执行一次，大于 0 表示固定频率，小于 0 表示固定延迟
+     */
+    private final long periodNanos;
+
+    ScheduledFutureTask(AbsScheduledEventExecutor executor, Runnable runnable, V result, long deadlineNanos) {
+        this(executor, runnable, result, deadlineNanos, 0);
+    }
+
+    ScheduledFutureTask(AbsScheduledEventExecutor executor, Runnable runnable, V result, long deadlineNanos, long periodNanos) {
+        super(runnable, result);
+        this.executor = executor;
+        this.deadlineNanos = deadlineNanos;
+        this.periodNanos = periodNanos;
+    }
+
+    ScheduledFutureTask(AbsScheduledEventExecutor executor, Callable<V> callable, long deadlineNanos) {
+        super(callable);
+        this.executor = executor;
+        this.deadlineNanos = deadlineNanos;
+        this.periodNanos = 0;
+    }
+
+    static long deadlineNanos(long delayNanos) {
+        long deadlineNanos = AbsScheduledEventExecutor.nanoTime() + delayNanos;
+        // 防止溢出
+        return deadlineNanos < 0 ? Long.MAX_VALUE : deadlineNanos;
+    }
+
+    long deadlineNanos() {
+        return deadlineNanos;
+    }
+
+    long delayNanos(long currentTimeNanos) {
+        return Math.max(0, deadlineNanos - currentTimeNanos);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(delayNanos(AbsScheduledEventExecutor.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+        if (this == o) {
+            return 0;
+        }
+        ScheduledFutureTask<?> that = (ScheduledFutureTask<?>) o;
+        long d = deadlineNanos - that.deadlineNanos;
+        if (d < 0) {
+            return -1;
+        } else if (d > 0) {
+            return 1;
+        } else if (sequence < that.sequence) {
+            return -1;
+        } else {
+            return 1;
+        }
+    }
+
+    @Override
+    public boolean isPeriodic() {
+        return periodNanos != 0;
+    }
+
+    @Override
+    public void run() {
+        assert executor.inEventLoop();
+        if (!isPeriodic()) {
+            super.run();
+            return;
+        }
+        if (!runAndReset() || executor.isShutdown()) {
+            return;
+        }
+        if (periodNanos > 0) {
+            deadlineNanos += periodNanos;
+        } else {
+            deadlineNanos = AbsScheduledEventExecutor.nanoTime() - periodNanos;
+        }
+        if (!isCancelled()) {
+            executor.scheduledTaskQueue().add(this);
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean canceled = super.cancel(mayInterruptIfRunning);
+        if (canceled) {
+            executor.removeScheduled(this);
+        }
+        return canceled;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledFutureTask{" +
+                "deadlineNanos=" + deadlineNanos +
+                ", periodNanos=" + periodNanos +
+                '}';
+    }
+}
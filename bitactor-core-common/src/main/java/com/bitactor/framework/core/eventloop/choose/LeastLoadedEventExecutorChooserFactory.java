@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.eventloop.choose;
+
+import com.bitactor.framework.core.eventloop.BitactorEventLoop;
+import com.bitactor.framework.core.eventloop.abs.AbsSingleThreadEventExecutor;
+import com.bitactor.framework.core.eventloop.inf.IEventExecutor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 选择负载最低的执行器，负载为等待执行的任务数与绑定的连接数之和；
+ * 每次从轮询位置开始比较，负载相同时仍按轮询分配
+ *
+ * @author WXH
+ */
+public final class LeastLoadedEventExecutorChooserFactory implements IEventExecutorChooserFactory {
+
+    public static final LeastLoadedEventExecutorChooserFactory INSTANCE = new LeastLoadedEventExecutorChooserFactory();
+
+    private LeastLoadedEventExecutorChooserFactory() {
+    }
+
+    @Override
+    public IEventExecutorChooser newChooser(IEventExecutor[] executors) {
+        return new LeastLoadedEventExecutorChooser(executors);
+    }
+
+    private static int load(IEventExecutor executor) {
+        if (executor instanceof BitactorEventLoop) {
+            return ((BitactorEventLoop) executor).load();
+        }
+        if (executor instanceof AbsSingleThreadEventExecutor) {
+            return ((AbsSingleThreadEventExecutor) executor).pendingTasks();
+        }
+        return 0;
+    }
+
+    private static final class LeastLoadedEventExecutorChooser implements IEventExecutorChooser {
+        private final AtomicInteger idx = new AtomicInteger();
+        private final IEventExecutor[] executors;
+
+        LeastLoadedEventExecutorChooser(IEventExecutor[] executors) {
+            this.executors = executors;
+        }
+
+        @Override
+        public IEventExecutor next() {
+            int length = executors.length;
+            int start = Math.abs(idx.getAndIncrement() % length);
+            IEventExecutor chosen = executors[start];
+            int minLoad = load(chosen);
+            for (int i = 1; i < length && minLoad > 0; i++) {
+                IEventExecutor executor = executors[(start + i) % length];
+                int load = load(executor);
+                if (load < minLoad) {
+                    chosen = executor;
+                    minLoad = load;
+                }
+            }
+            return chosen;
+        }
+    }
+}
@@ -20,14 +20,16 @@ package com.bitactor.framework.core.eventloop.inf;
 import com.bitactor.framework.core.eventloop.choose.CustomEventExecutorChooser;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * 执行器组，支持 {@link ScheduledExecutorService} 的定时任务，定时任务在被选中的事件循环线程上执行
+ *
  * @author WXH
  */
-public interface IEventExecutorGroup extends ExecutorService, Iterable<IEventExecutor> {
+public interface IEventExecutorGroup extends ScheduledExecutorService, Iterable<IEventExecutor> {
     /**
      * 返回{@code true}，当且仅当由这个{@link IEventExecutor group}管理的所有{@link IEventExecutor}
      * 是{@linkplain #shutdownGracefully() 优雅的关闭 }或者是{@linkplain #isShutdown() 关闭}。
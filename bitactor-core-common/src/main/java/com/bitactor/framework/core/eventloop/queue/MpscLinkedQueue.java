@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.eventloop.queue;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 无锁的多生产者单消费者链表队列
+ * <p>
+ * 生产者通过一次 getAndSet 交换尾节点入队，消费者线程独占头节点出队，入队和出队都不加锁。
+ * 只允许一个线程调用 {@link #poll()} 和 {@link #peek()}，适合事件循环的任务队列。
+ * 容量小于等于 0 时为无界队列。
+ * </p>
+ *
+ * @author WXH
+ */
+public class MpscLinkedQueue<E> extends AbstractQueue<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MpscLinkedQueue, Node> TAIL_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(MpscLinkedQueue.class, Node.class, "tail");
+
+    /**
+     * 消费者持有的头节点（哨兵），仅消费者线程读写
+     */
+    private Node<E> head;
+    /**
+     * 生产者竞争的尾节点
+     */
+    private volatile Node<E> tail;
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    public MpscLinkedQueue() {
+        this(0);
+    }
+
+    /**
+     * @param capacity 队列容量，小于等于 0 表示无界
+     */
+    public MpscLinkedQueue(int capacity) {
+        this.capacity = capacity;
+        Node<E> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = stub;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException("e");
+        }
+        if (capacity > 0) {
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                return false;
+            }
+        } else {
+            size.incrementAndGet();
+        }
+        Node<E> node = new Node<>(e);
+        Node<E> prev = TAIL_UPDATER.getAndSet(this, node);
+        // 在 getAndSet 和 lazySet 之间消费者可能短暂看不到新节点，poll 会返回 null，之后的唤醒会重新检查
+        prev.lazySetNext(node);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        E value = next.value;
+        next.value = null;
+        head = next;
+        size.decrementAndGet();
+        return value;
+    }
+
+    @Override
+    public E peek() {
+        Node<E> next = head.next;
+        return next == null ? null : next.value;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 不支持遍历和按元素删除
+     */
+    @Override
+    public Iterator<E> iterator() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "MpscLinkedQueue{" +
+                "size=" + size.get() +
+                ", capacity=" + capacity +
+                '}';
+    }
+
+    private static final class Node<E> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT_UPDATER =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        private E value;
+        private volatile Node<E> next;
+
+        Node(E value) {
+            this.value = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        void lazySetNext(Node<E> next) {
+            NEXT_UPDATER.lazySet(this, next);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.eventloop.stats;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 单个事件循环的运行统计；
+ * 只对按采样率抽中的任务记录入队时间，统计数据只由事件循环线程写入，不与其他事件循环共享
+ *
+ * @author WXH
+ */
+public class EventExecutorStats {
+    /**
+     * 采样率，每 {@code sampleRate} 个任务记录一个，小于等于 0 表示关闭
+     */
+    private final int sampleRate;
+    private final long startNanos = System.nanoTime();
+    /**
+     * 入队到开始执行的等待时间
+     */
+    private final LatencyHistogram waitHistogram = new LatencyHistogram();
+    /**
+     * 任务执行时间
+     */
+    private final LatencyHistogram runHistogram = new LatencyHistogram();
+    private volatile long busyNanos;
+    private volatile int maxQueueDepth;
+
+    public EventExecutorStats(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    /**
+     * 提交任务时调用，判断该任务是否被采样
+     *
+     * @return
+     */
+    public boolean shouldSample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * 将被采样的任务包装为记录时间的任务
+     *
+     * @param task       提交的任务
+     * @param queueDepth 提交时的队列深度
+     * @return
+     */
+    public Runnable wrap(Runnable task, int queueDepth) {
+        return new SampledTask(task, System.nanoTime(), queueDepth);
+    }
+
+    /**
+     * 记录事件循环执行任务的时间，只能在事件循环线程上调用
+     *
+     * @param nanos
+     */
+    public void recordBusy(long nanos) {
+        busyNanos += nanos;
+    }
+
+    /**
+     * 记录队列深度，只能在事件循环线程上调用
+     *
+     * @param queueDepth
+     */
+    public void recordQueueDepth(int queueDepth) {
+        if (queueDepth > maxQueueDepth) {
+            maxQueueDepth = queueDepth;
+        }
+    }
+
+    /**
+     * 读取当前统计
+     *
+     * @param name         事件循环名称
+     * @param pendingTasks 当前队列深度
+     * @return
+     */
+    public EventExecutorStatsSnapshot snapshot(String name, int pendingTasks) {
+        return new EventExecutorStatsSnapshot(name, pendingTasks, maxQueueDepth, busyNanos, System.nanoTime() - startNanos,
+                waitHistogram.copy(), runHistogram.copy());
+    }
+
+    private final class SampledTask implements Runnable {
+        private final Runnable task;
+        private final long enqueueNanos;
+        private final int queueDepth;
+
+        SampledTask(Runnable task, long enqueueNanos, int queueDepth) {
+            this.task = task;
+            this.enqueueNanos = enqueueNanos;
+            this.queueDepth = queueDepth;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            waitHistogram.record(startNanos - enqueueNanos);
+            recordQueueDepth(queueDepth);
+            try {
+                task.run();
+            } finally {
+                runHistogram.record(System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
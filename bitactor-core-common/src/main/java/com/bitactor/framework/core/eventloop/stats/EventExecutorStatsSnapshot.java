@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.eventloop.stats;
+
+/**
+ * 事件循环运行统计的快照，统计为累计值，可通过 {@link #since(EventExecutorStatsSnapshot)} 得到两次快照之间的统计
+ *
+ * @author WXH
+ */
+public class EventExecutorStatsSnapshot {
+    private final String name;
+    private final int pendingTasks;
+    private final int maxQueueDepth;
+    private final long busyNanos;
+    private final long elapsedNanos;
+    private final LatencyHistogram waitHistogram;
+    private final LatencyHistogram runHistogram;
+
+    public EventExecutorStatsSnapshot(String name, int pendingTasks, int maxQueueDepth, long busyNanos, long elapsedNanos,
+                                      LatencyHistogram waitHistogram, LatencyHistogram runHistogram) {
+        this.name = name;
+        this.pendingTasks = pendingTasks;
+        this.maxQueueDepth = maxQueueDepth;
+        this.busyNanos = busyNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.waitHistogram = waitHistogram;
+        this.runHistogram = runHistogram;
+    }
+
+    /**
+     * 与之前的快照相减，得到两次快照之间的统计
+     *
+     * @param previous 同一事件循环之前的快照
+     * @return
+     */
+    public EventExecutorStatsSnapshot since(EventExecutorStatsSnapshot previous) {
+        return new EventExecutorStatsSnapshot(name, pendingTasks, maxQueueDepth, busyNanos - previous.busyNanos,
+                elapsedNanos - previous.elapsedNanos, waitHistogram.minus(previous.waitHistogram),
+                runHistogram.minus(previous.runHistogram));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getBusyNanos() {
+        return busyNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * 忙碌比例，执行任务的时间占统计时长的比例
+     *
+     * @return 0-1
+     */
+    public double getBusyRatio() {
+        return elapsedNanos <= 0 ? 0 : Math.min(1, (double) busyNanos / elapsedNanos);
+    }
+
+    public LatencyHistogram getWaitHistogram() {
+        return waitHistogram;
+    }
+
+    public LatencyHistogram getRunHistogram() {
+        return runHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "EventExecutorStatsSnapshot{" +
+                "name='" + name + '\'' +
+                ", pendingTasks=" + pendingTasks +
+                ", maxQueueDepth=" + maxQueueDepth +
+                ", busyRatio=" + String.format("%.3f", getBusyRatio()) +
+                ", wait=" + waitHistogram +
+                ", run=" + runHistogram +
+                '}';
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.eventloop.stats;
+
+import java.util.Arrays;
+
+/**
+ * 耗时直方图，按纳秒数的二进制位数分桶（第 i 个桶记录 [2^(i-1), 2^i) 纳秒）；
+ * 只允许单线程写入，其他线程通过 {@link #copy()} 读取的是近似值
+ *
+ * @author WXH
+ */
+public class LatencyHistogram {
+    /**
+     * 桶数，最大桶覆盖约 2^40 纳秒（约 18 分钟）
+     */
+    public static final int BUCKETS = 41;
+
+    private final long[] counts;
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public LatencyHistogram() {
+        this(new long[BUCKETS], 0, 0, 0);
+    }
+
+    private LatencyHistogram(long[] counts, long count, long totalNanos, long maxNanos) {
+        this.counts = counts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos))]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    public LatencyHistogram copy() {
+        return new LatencyHistogram(Arrays.copyOf(counts, BUCKETS), count, totalNanos, maxNanos);
+    }
+
+    /**
+     * 与之前的副本相减，得到两次读取之间的直方图，最大值保留当前值
+     *
+     * @param previous 之前的副本
+     * @return
+     */
+    public LatencyHistogram minus(LatencyHistogram previous) {
+        long[] delta = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            delta[i] = counts[i] - previous.counts[i];
+        }
+        return new LatencyHistogram(delta, count - previous.count, totalNanos - previous.totalNanos, maxNanos);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * 百分位耗时，返回所在桶的上界
+     *
+     * @param percentile 0-100
+     * @return
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count <= 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= threshold && seen > 0) {
+                return Math.min(maxNanos, i == 0 ? 0 : (1L << i) - 1);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + count +
+                ", meanNanos=" + getMeanNanos() +
+                ", p50Nanos=" + getPercentileNanos(50) +
+                ", p99Nanos=" + getPercentileNanos(99) +
+                ", maxNanos=" + maxNanos +
+                '}';
+    }
+}
@@ -34,6 +34,10 @@ public final class RpcException extends RuntimeException {
     public static final int BIZ_EXCEPTION = 3;
     // 序列化异常
     public static final int SERIALIZATION_EXCEPTION = 5;
+    // 限流异常，请求未发出
+    public static final int LIMIT_EXCEPTION = 6;
+    // 提供者过载异常，请求未执行
+    public static final int OVERLOAD_EXCEPTION = 7;
     private int code = UNKNOWN_EXCEPTION;
 
     public RpcException() {
@@ -96,4 +100,12 @@ public final class RpcException extends RuntimeException {
     public boolean isSerialization() {
         return code == SERIALIZATION_EXCEPTION;
     }
+
+    public boolean isLimit() {
+        return code == LIMIT_EXCEPTION;
+    }
+
+    public boolean isOverload() {
+        return code == OVERLOAD_EXCEPTION;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.threadpool;
+
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 优先创建线程的任务队列：线程数未达到最大值且没有空闲线程时拒绝入队，
+ * 使 {@link java.util.concurrent.ThreadPoolExecutor} 先扩容线程再排队
+ *
+ * @author WXH
+ */
+public class EagerTaskQueue extends LinkedBlockingQueue<Runnable> {
+    private static final long serialVersionUID = 1L;
+
+    private transient volatile InstrumentedThreadPoolExecutor executor;
+
+    public EagerTaskQueue(int capacity) {
+        super(capacity);
+    }
+
+    void setExecutor(InstrumentedThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        InstrumentedThreadPoolExecutor executor = this.executor;
+        if (executor == null) {
+            return super.offer(runnable);
+        }
+        int poolSize = executor.getPoolSize();
+        // 有空闲线程，直接入队
+        if (executor.getSubmittedCount() <= poolSize) {
+            return super.offer(runnable);
+        }
+        // 还能创建线程，拒绝入队让线程池扩容
+        if (poolSize < executor.getMaximumPoolSize()) {
+            return false;
+        }
+        return super.offer(runnable);
+    }
+
+    /**
+     * 扩容线程失败（已达到最大线程数）后重新入队
+     *
+     * @param runnable
+     * @return
+     */
+    boolean retryOffer(Runnable runnable) {
+        return super.offer(runnable);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.threadpool;
+
+import com.bitactor.framework.core.logger.Logger;
+import com.bitactor.framework.core.logger.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带运行统计的线程池，统计提交到执行的等待时间、执行时间和被拒绝的任务数；
+ * 队列为 {@link EagerTaskQueue} 时先扩容线程再排队
+ *
+ * @author WXH
+ */
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentedThreadPoolExecutor.class);
+    private final String name;
+    private final RejectPolicy rejectPolicy;
+    /**
+     * 已提交但未执行完的任务数
+     */
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedTasks = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0);
+
+    public InstrumentedThreadPoolExecutor(String name, int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                          BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory, RejectPolicy rejectPolicy) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, new Rejector());
+        if (rejectPolicy == RejectPolicy.DISCARD_OLDEST && workQueue.remainingCapacity() == 0) {
+            // 直接交付的队列中没有可丢弃的任务
+            throw new IllegalArgumentException("Thread pool " + name + " reject policy " + rejectPolicy + " requires a queue with capacity");
+        }
+        this.name = name;
+        this.rejectPolicy = rejectPolicy == null ? RejectPolicy.ABORT : rejectPolicy;
+        if (workQueue instanceof EagerTaskQueue) {
+            ((EagerTaskQueue) workQueue).setExecutor(this);
+        }
+        ThreadPoolFactory.register(this);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        submitted.incrementAndGet();
+        super.execute(new TimedTask(command));
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        submitted.decrementAndGet();
+    }
+
+    @Override
+    protected void terminated() {
+        ThreadPoolFactory.unregister(this);
+    }
+
+    private void reject(Runnable task) {
+        if (!isShutdown() && getQueue() instanceof EagerTaskQueue && ((EagerTaskQueue) getQueue()).retryOffer(task)) {
+            // 并发扩容时线程数已满，排队即可
+            return;
+        }
+        if (!isShutdown() && rejectPolicy == RejectPolicy.DISCARD_OLDEST) {
+            Runnable oldest = getQueue().poll();
+            if (oldest != null) {
+                discardOldest(oldest);
+            }
+            // 只重试一次入队，队列仍满时按 ABORT 处理，不再递归提交
+            if (getQueue().offer(task)) {
+                return;
+            }
+        }
+        discard();
+        if (!isShutdown() && rejectPolicy == RejectPolicy.CALLER_RUNS) {
+            task.run();
+            return;
+        }
+        throw new RejectedExecutionException("Thread pool " + name + " is exhausted, " + stats());
+    }
+
+    private void discard() {
+        rejected.increment();
+        submitted.decrementAndGet();
+    }
+
+    /**
+     * 丢弃队列中最早的任务，通过 submit 提交的任务会被取消，等待结果的调用方可以感知
+     *
+     * @param oldest
+     */
+    private void discardOldest(Runnable oldest) {
+        discard();
+        Runnable task = oldest instanceof TimedTask ? ((TimedTask) oldest).task : oldest;
+        if (task instanceof Future) {
+            ((Future<?>) task).cancel(false);
+        }
+        logger.warn("Thread pool " + name + " is exhausted, discard oldest task: " + task);
+    }
+
+    int getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RejectPolicy getRejectPolicy() {
+        return rejectPolicy;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 读取运行统计
+     *
+     * @return
+     */
+    public ThreadPoolStats stats() {
+        long timed = timedTasks.sum();
+        return new ThreadPoolStats(name, getPoolSize(), getActiveCount(), getLargestPoolSize(), getQueue().size(),
+                getCompletedTaskCount(), rejected.sum(),
+                timed == 0 ? 0 : totalWaitNanos.sum() / timed, maxWaitNanos.get(),
+                timed == 0 ? 0 : totalRunNanos.sum() / timed, maxRunNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedThreadPoolExecutor{" +
+                "name='" + name + '\'' +
+                ", rejectPolicy=" + rejectPolicy +
+                ", " + super.toString() +
+                '}';
+    }
+
+    private static final class Rejector implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            ((InstrumentedThreadPoolExecutor) executor).reject(r);
+        }
+    }
+
+    private final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long submitNanos = System.nanoTime();
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            long waitNanos = startNanos - submitNanos;
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+            try {
+                task.run();
+            } finally {
+                long runNanos = System.nanoTime() - startNanos;
+                totalRunNanos.add(runNanos);
+                maxRunNanos.accumulate(runNanos);
+                timedTasks.increment();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
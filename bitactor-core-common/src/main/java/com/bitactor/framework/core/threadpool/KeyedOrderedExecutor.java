@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.threadpool;
+
+import com.bitactor.framework.core.logger.Logger;
+import com.bitactor.framework.core.logger.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按键有序的执行器，同一个键的任务按提交顺序串行执行，不同键的任务在线程池中并行执行；
+ * 每个键的队列在首次提交时创建，任务执行完后移除。队列的创建和移除通过 {@link ConcurrentHashMap#compute}
+ * 完成，只锁定键所在的桶。每轮最多连续执行 {@code batchSize} 个任务且不超过时间预算，
+ * 之后重新提交到线程池，避免某个键长期占用线程。线程池拒绝时键上未执行的任务全部放弃，
+ * 并逐个调用提交时传入的拒绝回调。
+ * 线程池必须以抛出异常的方式拒绝：丢弃队列中的任务会使该键的计数无法归零，键上之后的任务不再被调度；
+ * 由提交线程执行会在重新排队时递归执行本队列
+ *
+ * @author WXH
+ */
+public class KeyedOrderedExecutor<K> {
+    private static final Logger logger = LoggerFactory.getLogger(KeyedOrderedExecutor.class);
+    /**
+     * 默认每轮最多执行的任务数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    /**
+     * 默认每轮的时间预算（微秒）
+     */
+    public static final long DEFAULT_BUDGET_MICROS = 1000;
+
+    private final ExecutorService executorService;
+    private final int batchSize;
+    private final long budgetNanos;
+    private final ConcurrentHashMap<K, KeyQueue> queues = new ConcurrentHashMap<>();
+    /**
+     * 全部键等待执行的任务数
+     */
+    private final LongAdder backlog = new LongAdder();
+
+    public KeyedOrderedExecutor(ExecutorService executorService) {
+        this(executorService, DEFAULT_BATCH_SIZE, DEFAULT_BUDGET_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * @param executorService 执行任务的线程池，拒绝时必须抛出 {@link RejectedExecutionException}
+     * @param batchSize       每轮最多连续执行的任务数
+     * @param budget          每轮的时间预算，小于等于0表示不限
+     * @param unit            时间预算的单位
+     */
+    public KeyedOrderedExecutor(ExecutorService executorService, int batchSize, long budget, TimeUnit unit) {
+        if (executorService instanceof InstrumentedThreadPoolExecutor
+                && ((InstrumentedThreadPoolExecutor) executorService).getRejectPolicy() != RejectPolicy.ABORT) {
+            throw new IllegalArgumentException("Keyed ordered executor requires reject policy " + RejectPolicy.ABORT
+                    + ", but was " + ((InstrumentedThreadPoolExecutor) executorService).getRejectPolicy());
+        }
+        this.executorService = executorService;
+        this.batchSize = Math.max(1, batchSize);
+        this.budgetNanos = budget > 0 ? unit.toNanos(budget) : Long.MAX_VALUE;
+    }
+
+    /**
+     * 提交任务，与同一个键之前提交的任务串行执行
+     *
+     * @param key
+     * @param task
+     * @throws RejectedExecutionException 首次调度被线程池拒绝时抛出
+     */
+    public void execute(K key, Runnable task) {
+        execute(key, task, null);
+    }
+
+    /**
+     * 提交任务，与同一个键之前提交的任务串行执行
+     *
+     * @param key
+     * @param task
+     * @param rejected 任务因线程池拒绝而放弃时调用，为 null 时首次调度被拒绝会抛出异常，之后的拒绝只记录日志
+     * @throws RejectedExecutionException 未传入拒绝回调且首次调度被线程池拒绝时抛出
+     */
+    public void execute(K key, Runnable task, Runnable rejected) {
+        if (key == null || task == null) {
+            throw new NullPointerException(key == null ? "key" : "task");
+        }
+        KeyedTask keyedTask = new KeyedTask(task, rejected);
+        boolean[] schedule = new boolean[1];
+        KeyQueue queue = queues.compute(key, (k, q) -> {
+            if (q == null) {
+                q = new KeyQueue(k);
+            }
+            q.tasks.add(keyedTask);
+            // 从0变为1时由当前提交者负责调度
+            schedule[0] = q.pending.getAndIncrement() == 0;
+            return q;
+        });
+        backlog.increment();
+        if (schedule[0]) {
+            try {
+                executorService.execute(queue);
+            } catch (RejectedExecutionException e) {
+                // 期间其他线程提交到该键的任务同样无法执行，通过各自的回调通知
+                queue.reject();
+                if (rejected == null) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 取消键上等待执行的任务，直到该键的任务全部清空前新提交的任务也会被丢弃；正在执行的任务不受影响
+     *
+     * @param key
+     */
+    public void cancel(K key) {
+        KeyQueue queue = queues.get(key);
+        if (queue != null) {
+            queue.cancelled = true;
+        }
+    }
+
+    /**
+     * 键上等待执行的任务数（包括正在执行的任务）
+     *
+     * @param key
+     * @return
+     */
+    public int backlog(K key) {
+        KeyQueue queue = queues.get(key);
+        return queue == null ? 0 : queue.pending.get();
+    }
+
+    /**
+     * 全部键等待执行的任务数
+     *
+     * @return
+     */
+    public long getBacklog() {
+        return backlog.sum();
+    }
+
+    /**
+     * 当前有任务的键数
+     *
+     * @return
+     */
+    public int getKeyCount() {
+        return queues.size();
+    }
+
+    private final class KeyQueue implements Runnable {
+        private final K key;
+        private final Queue<KeyedTask> tasks = new ConcurrentLinkedQueue<>();
+        /**
+         * 已提交但未执行完的任务数，大于0时有且只有一个线程在执行该队列
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+
+        KeyQueue(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            long deadline = budgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + budgetNanos;
+            for (int ran = 0; ran < batchSize; ran++) {
+                // 计数在入队之后增加，计数大于0时队列中一定有任务
+                KeyedTask task = tasks.poll();
+                if (!cancelled) {
+                    try {
+                        task.task.run();
+                    } catch (Throwable e) {
+                        logger.error("Keyed ordered task error, key: " + key, e);
+                    }
+                }
+                if (!completeOne()) {
+                    return;
+                }
+                if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+            // 本轮预算用完，重新排队让其他键的任务有机会执行
+            try {
+                executorService.execute(this);
+            } catch (RejectedExecutionException e) {
+                logger.warn("Keyed ordered queue rejected, key: " + key + " pending: " + pending.get());
+                reject();
+            }
+        }
+
+        /**
+         * 完成一个任务
+         *
+         * @return 还有任务时返回 {@code true}
+         */
+        private boolean completeOne() {
+            backlog.decrement();
+            // 只有执行线程会减少计数，大于1时减一后不会归零，无需加锁
+            if (pending.get() > 1) {
+                pending.decrementAndGet();
+                return true;
+            }
+            // 可能归零时与提交在同一个桶锁内完成，归零即移除队列，之后的提交会创建新队列
+            boolean[] more = new boolean[1];
+            queues.compute(key, (k, q) -> {
+                more[0] = pending.decrementAndGet() > 0;
+                return more[0] ? q : (q == this ? null : q);
+            });
+            return more[0];
+        }
+
+        /**
+         * 放弃剩余任务，逐个调用拒绝回调；回调期间新提交的任务同样被放弃，直到计数归零队列被移除
+         */
+        private void reject() {
+            KeyedTask task;
+            while ((task = tasks.poll()) != null) {
+                if (task.rejected != null) {
+                    try {
+                        task.rejected.run();
+                    } catch (Throwable e) {
+                        logger.error("Keyed ordered rejected callback error, key: " + key, e);
+                    }
+                }
+                if (!completeOne()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class KeyedTask {
+        private final Runnable task;
+        private final Runnable rejected;
+
+        KeyedTask(Runnable task, Runnable rejected) {
+            this.task = task;
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.threadpool;
+
+/**
+ * 线程池任务被拒绝时的处理策略，被拒绝的任务均计入 {@link ThreadPoolStats#getRejected()}
+ *
+ * @author WXH
+ */
+public enum RejectPolicy {
+    /**
+     * 抛出 {@link java.util.concurrent.RejectedExecutionException}
+     */
+    ABORT,
+    /**
+     * 由提交任务的线程执行，对提交方形成背压
+     */
+    CALLER_RUNS,
+    /**
+     * 丢弃队列中最早的任务，再将当前任务入队一次，仍无法入队时按 {@link #ABORT} 处理；
+     * 需要有容量的队列，被丢弃的 {@link java.util.concurrent.Future} 任务会被取消
+     */
+    DISCARD_OLDEST;
+
+    /**
+     * 按名称解析，无法识别时返回 {@link #ABORT}
+     *
+     * @param name
+     * @return
+     */
+    public static RejectPolicy of(String name) {
+        if (name != null) {
+            for (RejectPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name.trim())) {
+                    return policy;
+                }
+            }
+        }
+        return ABORT;
+    }
+}
@@ -19,25 +19,103 @@ package com.bitactor.framework.core.threadpool;
 
 import com.bitactor.framework.core.config.UrlProperties;
 import com.bitactor.framework.core.constant.NetConstants;
+import com.bitactor.framework.core.logger.Logger;
+import com.bitactor.framework.core.logger.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 
+/**
+ * 线程池工厂，按url中的 thread.pool 创建线程池：
+ * <ul>
+ * <li>fixed：固定 threads 个线程</li>
+ * <li>cached：core.threads 到 threads 个线程，空闲 alive 毫秒后回收</li>
+ * <li>eager：同 cached，但先扩容线程再排队</li>
+ * <li>virtual：每个任务一个虚拟线程（JDK 21 及以上），不支持时退化为 eager</li>
+ * <li>其他：单线程</li>
+ * </ul>
+ * 队列长度由 queues 指定，小于0表示无界，等于0表示不排队；拒绝策略由 thread.pool.reject 指定
+ *
+ * @author WXH
+ */
 public class ThreadPoolFactory {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadPoolFactory.class);
+    /**
+     * 运行中的线程池
+     */
+    private static final List<InstrumentedThreadPoolExecutor> EXECUTORS = new CopyOnWriteArrayList<>();
+
     public static ExecutorService getJdkTheadPool(UrlProperties url, String threadName) {
-        String threadPoolName = url.getParameter(NetConstants.THREAD_POOL_KEY, NetConstants.DEFAULT_THREAD_POOL);
-        int threads = url.getParameter(NetConstants.THREADS_KEY, NetConstants.DEFAULT_THREADS);
+        return getJdkTheadPool(url, threadName, url.getParameter(NetConstants.THREAD_POOL_KEY, NetConstants.DEFAULT_THREAD_POOL));
+    }
+
+    /**
+     * 按指定的线程池类型创建线程池，线程数、队列等其他参数仍从url读取
+     *
+     * @param url            参数
+     * @param threadName     线程名前缀
+     * @param threadPoolName 线程池类型
+     * @return
+     */
+    public static ExecutorService getJdkTheadPool(UrlProperties url, String threadName, String threadPoolName) {
+        if (NetConstants.THREAD_POOL_VIRTUAL.equals(threadPoolName)) {
+            ExecutorService executor = VirtualThreads.newExecutor(threadName);
+            if (executor != null) {
+                return executor;
+            }
+            logger.warn("Virtual threads are not supported by the current JDK, thread pool " + threadName + " fall back to " + NetConstants.THREAD_POOL_EAGER);
+            threadPoolName = NetConstants.THREAD_POOL_EAGER;
+        }
+        int threads = url.getPositiveParameter(NetConstants.THREADS_KEY, NetConstants.DEFAULT_THREADS);
+        int cores = Math.min(threads, Math.max(0, url.getParameter(NetConstants.CORE_THREADS_KEY, NetConstants.DEFAULT_CORE_THREADS)));
+        int queues = url.getParameter(NetConstants.QUEUES_KEY, NetConstants.DEFAULT_QUEUES);
+        long alive = url.getParameter(NetConstants.ALIVE_KEY, NetConstants.DEFAULT_ALIVE);
+        RejectPolicy rejectPolicy = RejectPolicy.of(url.getParameter(NetConstants.THREAD_POOL_REJECT_KEY, NetConstants.DEFAULT_THREAD_POOL_REJECT));
+        ThreadFactory threadFactory = new NamedThreadFactory(threadName);
         if (NetConstants.THREAD_POOL_CACHED.equals(threadPoolName)) {
-            return new ThreadPoolExecutor(0, threads,
-                    60L, TimeUnit.SECONDS,
-                    new SynchronousQueue<Runnable>(),
-                    new NamedThreadFactory(threadName));
+            // 不指定队列长度时不排队，线程数未满即扩容
+            BlockingQueue<Runnable> queue = queues <= 0 ? new SynchronousQueue<>() : new LinkedBlockingQueue<>(queues);
+            return new InstrumentedThreadPoolExecutor(threadName, cores, threads, alive, TimeUnit.MILLISECONDS,
+                    queue, threadFactory, rejectPolicy);
+        } else if (NetConstants.THREAD_POOL_EAGER.equals(threadPoolName)) {
+            EagerTaskQueue queue = new EagerTaskQueue(queues <= 0 ? Integer.MAX_VALUE : queues);
+            return new InstrumentedThreadPoolExecutor(threadName, cores, threads, alive, TimeUnit.MILLISECONDS,
+                    queue, threadFactory, rejectPolicy);
         } else if (NetConstants.THREAD_POOL_FIXED.equals(threadPoolName)) {
-            return new ThreadPoolExecutor(0, threads,
-                    60L, TimeUnit.SECONDS,
-                    new LinkedBlockingQueue<Runnable>(),
-                    new NamedThreadFactory(threadName));
+            return new InstrumentedThreadPoolExecutor(threadName, threads, threads, 0, TimeUnit.MILLISECONDS,
+                    newQueue(queues), threadFactory, rejectPolicy);
         } else {
-            return Executors.newSingleThreadExecutor(new NamedThreadFactory(threadName));
+            return new InstrumentedThreadPoolExecutor(threadName, 1, 1, 0, TimeUnit.MILLISECONDS,
+                    newQueue(queues), threadFactory, rejectPolicy);
+        }
+    }
+
+    private static BlockingQueue<Runnable> newQueue(int queues) {
+        if (queues == 0) {
+            return new SynchronousQueue<>();
+        }
+        return queues < 0 ? new LinkedBlockingQueue<>() : new LinkedBlockingQueue<>(queues);
+    }
+
+    static void register(InstrumentedThreadPoolExecutor executor) {
+        EXECUTORS.add(executor);
+    }
+
+    static void unregister(InstrumentedThreadPoolExecutor executor) {
+        EXECUTORS.remove(executor);
+    }
+
+    /**
+     * 读取全部运行中线程池的统计
+     *
+     * @return
+     */
+    public static List<ThreadPoolStats> stats() {
+        List<ThreadPoolStats> stats = new ArrayList<>(EXECUTORS.size());
+        for (InstrumentedThreadPoolExecutor executor : EXECUTORS) {
+            stats.add(executor.stats());
         }
+        return stats;
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.threadpool;
+
+/**
+ * 线程池运行统计快照
+ *
+ * @author WXH
+ */
+public class ThreadPoolStats {
+    private final String name;
+    private final int poolSize;
+    private final int activeCount;
+    private final int largestPoolSize;
+    private final int queued;
+    private final long completed;
+    private final long rejected;
+    private final long meanWaitNanos;
+    private final long maxWaitNanos;
+    private final long meanRunNanos;
+    private final long maxRunNanos;
+
+    public ThreadPoolStats(String name, int poolSize, int activeCount, int largestPoolSize, int queued, long completed,
+                           long rejected, long meanWaitNanos, long maxWaitNanos, long meanRunNanos, long maxRunNanos) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.largestPoolSize = largestPoolSize;
+        this.queued = queued;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.meanWaitNanos = meanWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.meanRunNanos = meanRunNanos;
+        this.maxRunNanos = maxRunNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getLargestPoolSize() {
+        return largestPoolSize;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * 任务从提交到开始执行的平均等待时间
+     */
+    public long getMeanWaitNanos() {
+        return meanWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * 任务平均执行时间
+     */
+    public long getMeanRunNanos() {
+        return meanRunNanos;
+    }
+
+    public long getMaxRunNanos() {
+        return maxRunNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadPoolStats{" +
+                "name='" + name + '\'' +
+                ", poolSize=" + poolSize +
+                ", activeCount=" + activeCount +
+                ", largestPoolSize=" + largestPoolSize +
+                ", queued=" + queued +
+                ", completed=" + completed +
+                ", rejected=" + rejected +
+                ", meanWaitNanos=" + meanWaitNanos +
+                ", maxWaitNanos=" + maxWaitNanos +
+                ", meanRunNanos=" + meanRunNanos +
+                ", maxRunNanos=" + maxRunNanos +
+                '}';
+    }
+}
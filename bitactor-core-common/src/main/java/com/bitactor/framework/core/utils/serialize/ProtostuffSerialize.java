@@ -24,6 +24,8 @@ import com.dyuproject.protostuff.ProtostuffIOUtil;
 import com.dyuproject.protostuff.Schema;
 import com.dyuproject.protostuff.runtime.RuntimeSchema;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -35,6 +37,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ProtostuffSerialize {
     private static final Logger logger = LoggerFactory.getLogger(ProtostuffSerialize.class);
     private static Map<Class<?>, Schema<?>> cachedSchema = new ConcurrentHashMap<Class<?>, Schema<?>>();
+    /**
+     * 流式序列化、反序列化使用的缓冲，按线程复用，避免每次调用都分配
+     */
+    private static final ThreadLocal<LinkedBuffer> STREAM_BUFFER = new ThreadLocal<LinkedBuffer>() {
+        @Override
+        protected LinkedBuffer initialValue() {
+            return LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE);
+        }
+    };
 
     private static <T> Schema<T> getSchema(Class<T> clazz) {
         @SuppressWarnings("unchecked")
@@ -68,6 +79,27 @@ public class ProtostuffSerialize {
         }
     }
 
+    /**
+     * 序列化到输出流
+     *
+     * @param obj
+     * @param out
+     * @return 写入的字节数
+     */
+    public static <T> int serializerToStream(T obj, OutputStream out) {
+        @SuppressWarnings("unchecked")
+        Class<T> clazz = (Class<T>) obj.getClass();
+        LinkedBuffer buffer = STREAM_BUFFER.get();
+        try {
+            Schema<T> schema = getSchema(clazz);
+            return ProtostuffIOUtil.writeTo(out, obj, schema, buffer);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
     /**
      * 反序列化
      *
@@ -94,4 +126,61 @@ public class ProtostuffSerialize {
         }
     }
 
+    /**
+     * 反序列化，只读取 data 中 [offset, offset + length) 区间，避免拷贝出新的数组
+     *
+     * @param data
+     * @param offset
+     * @param length
+     * @param clazz
+     * @return
+     */
+    public static <T> T deserializerToObj(byte[] data, int offset, int length, Class<T> clazz) {
+        if (data == null) {
+            logger.info("DeserializerToObj failed by data null!!!");
+            return null;
+        }
+        if (clazz == null) {
+            logger.info("DeserializerToObj failed by clazz null!!!");
+            return null;
+        }
+        try {
+            T obj = clazz.newInstance();
+            Schema<T> schema = getSchema(clazz);
+            ProtostuffIOUtil.mergeFrom(data, offset, length, obj, schema);
+            return obj;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从输入流反序列化，读取到流结束为止
+     *
+     * @param in
+     * @param clazz
+     * @return
+     */
+    public static <T> T deserializerToObj(InputStream in, Class<T> clazz) {
+        if (in == null) {
+            logger.info("DeserializerToObj failed by input stream null!!!");
+            return null;
+        }
+        if (clazz == null) {
+            logger.info("DeserializerToObj failed by clazz null!!!");
+            return null;
+        }
+        LinkedBuffer buffer = STREAM_BUFFER.get();
+        try {
+            T obj = clazz.newInstance();
+            Schema<T> schema = getSchema(clazz);
+            ProtostuffIOUtil.mergeFrom(in, obj, schema, buffer);
+            return obj;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
 }
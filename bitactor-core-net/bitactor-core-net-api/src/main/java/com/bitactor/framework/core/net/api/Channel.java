@@ -23,6 +23,7 @@ import com.bitactor.framework.core.config.UrlProperties;
 import com.bitactor.framework.core.net.api.transport.message.MessageWrapper;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 /**
  * 网络连接的通道接口
@@ -58,6 +59,13 @@ public interface Channel {
      */
     void send(MessageWrapper message);
 
+    /**
+     * 批量发送消息，全部写入后只flush一次
+     *
+     * @param messages
+     */
+    void send(List<MessageWrapper> messages);
+
     /**
      * 接收消息
      *
@@ -92,6 +100,20 @@ public interface Channel {
      */
     boolean isActive();
 
+    /**
+     * 是否可写，写缓冲区超过高水位时不可写
+     *
+     * @return writable
+     */
+    boolean isWritable();
+
+    /**
+     * 可写状态变化
+     *
+     * @param writable
+     */
+    void onWritabilityChanged(boolean writable);
+
     void setAttrVal(String key, Object val);
 
     <V> V getAttrVal(String key, V def);
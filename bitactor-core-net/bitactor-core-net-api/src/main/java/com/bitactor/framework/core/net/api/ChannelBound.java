@@ -89,6 +89,14 @@ public interface ChannelBound {
      */
     void closeNotify(String channelId);
 
+    /**
+     * 网络可写状态变化通知
+     *
+     * @param channelId
+     * @param writable
+     */
+    void writabilityChangedNotify(String channelId, boolean writable);
+
 
     /**
      * 服务关闭通知
@@ -20,6 +20,8 @@ package com.bitactor.framework.core.net.api.transport.message;
 
 import com.bitactor.framework.core.net.api.type.ByteSize;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
@@ -65,6 +67,21 @@ public class MessageWrapper {
         this.data = data;
     }
 
+    /**
+     * 将消息数据写入输出流，编码时由编码器直接写入网络缓冲区；
+     * 默认写入 {@link #getData(ByteOrder)}，子类可重写以在编码时才进行序列化
+     *
+     * @param out
+     * @param byteOrder
+     * @throws IOException
+     */
+    public void writeData(OutputStream out, ByteOrder byteOrder) throws IOException {
+        byte[] data = getData(byteOrder);
+        if (data != null) {
+            out.write(data);
+        }
+    }
+
     public int getAllBytesLength() {
         return ByteSize.BYTE_BYTES_SIZE.getVal() + (data == null ? 0 : data.length);
     }
@@ -18,14 +18,22 @@
 package com.bitactor.framework.core.net.netty.channel;
 
 import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.constant.NetConstants;
 import com.bitactor.framework.core.net.api.Channel;
 import com.bitactor.framework.core.net.api.transport.message.MessageClose;
 import com.bitactor.framework.core.net.api.transport.message.MessageWrapper;
 import com.bitactor.framework.core.logger.Logger;
 import com.bitactor.framework.core.logger.LoggerFactory;
 
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+
 import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author WXH
@@ -34,9 +42,42 @@ public abstract class AbstractNettyChannel implements Channel {
     private static final Logger logger = LoggerFactory.getLogger(AbstractNettyChannel.class);
     private NettyChannelContext channelContext;
     private ConcurrentHashMap<String, Object> longMap = new ConcurrentHashMap<String, Object>();
+    /**
+     * 是否开启发送合并
+     */
+    private final boolean batch;
+    /**
+     * 是否已提交flush任务，只在事件循环中读写
+     */
+    private boolean flushScheduled;
+    /**
+     * 已写入未flush的消息数，只在事件循环中读写
+     */
+    private int unflushed;
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushedMessages = new LongAdder();
+    private final Runnable flushTask = this::flushBatch;
+    /**
+     * 连接不可写时的溢出策略
+     */
+    private final String overflowPolicy;
+    /**
+     * drop_oldest 策略下暂存的消息
+     */
+    private final ArrayDeque<MessageWrapper> overflowQueue;
+    private final int overflowCapacity;
+    /**
+     * 因不可写被丢弃的消息数
+     */
+    private final LongAdder droppedMessages = new LongAdder();
 
     public AbstractNettyChannel(NettyChannelContext channelContext) {
         this.channelContext = channelContext;
+        UrlProperties url = channelContext.getUrl();
+        this.batch = url != null && url.getParameter(NetConstants.SEND_BATCH_KEY, NetConstants.DEFAULT_SEND_BATCH);
+        this.overflowPolicy = url == null ? NetConstants.DEFAULT_WRITE_OVERFLOW_POLICY : url.getParameter(NetConstants.WRITE_OVERFLOW_POLICY_KEY, NetConstants.DEFAULT_WRITE_OVERFLOW_POLICY);
+        this.overflowCapacity = url == null ? NetConstants.DEFAULT_WRITE_OVERFLOW_QUEUE : url.getPositiveParameter(NetConstants.WRITE_OVERFLOW_QUEUE_KEY, NetConstants.DEFAULT_WRITE_OVERFLOW_QUEUE);
+        this.overflowQueue = NetConstants.WRITE_OVERFLOW_DROP_OLDEST.equals(overflowPolicy) ? new ArrayDeque<>() : null;
     }
 
     public NettyChannelContext getChannelContext() {
@@ -63,10 +104,28 @@ public abstract class AbstractNettyChannel implements Channel {
         getChannelContext().getContext().close();
     }
 
+    /**
+     * 发送关闭消息后关闭连接；关闭消息不经过溢出策略，连接不可写时也直接写入，
+     * drop_oldest 策略下暂存的消息先于关闭消息写入，并与之前合并的消息一起flush，保证对端收到正常关闭
+     */
     @Override
     public void close() {
-        send(new MessageClose());
-        getChannelContext().getContext().close();
+        inEventLoop(() -> {
+            ChannelHandlerContext ctx = this.getChannelContext().getContext();
+            if (overflowQueue != null) {
+                synchronized (overflowQueue) {
+                    MessageWrapper message;
+                    while ((message = overflowQueue.pollFirst()) != null) {
+                        ctx.write(message);
+                        unflushed++;
+                    }
+                }
+            }
+            ctx.write(new MessageClose());
+            unflushed++;
+            flushBatch();
+            ctx.close();
+        });
     }
 
     @Override
@@ -74,9 +133,189 @@ public abstract class AbstractNettyChannel implements Channel {
         return getChannelContext().getContext().channel().isActive();
     }
 
+    @Override
+    public boolean isWritable() {
+        return getChannelContext().getContext().channel().isWritable();
+    }
+
+    @Override
+    public void onWritabilityChanged(boolean writable) {
+        if (!writable) {
+            logger.debug("Channel becomes unwritable, channel id:" + getChannelId() + " remote address : " + getRemoteAddress());
+            return;
+        }
+        if (overflowQueue == null) {
+            return;
+        }
+        // 恢复可写后按顺序补发暂存的消息
+        synchronized (overflowQueue) {
+            MessageWrapper message;
+            while (isWritable() && (message = overflowQueue.pollFirst()) != null) {
+                write(message);
+            }
+        }
+    }
+
     @Override
     public void send(MessageWrapper message) {
-        this.getChannelContext().getContext().writeAndFlush(message);
+        if (!admit(message)) {
+            return;
+        }
+        write(message);
+    }
+
+    /**
+     * 按溢出策略判断消息是否立即写入
+     *
+     * @param message
+     * @return false 表示消息已被丢弃或暂存
+     */
+    private boolean admit(MessageWrapper message) {
+        switch (overflowPolicy) {
+            case NetConstants.WRITE_OVERFLOW_DROP_NEWEST:
+                if (isWritable()) {
+                    return true;
+                }
+                droppedMessages.increment();
+                return false;
+            case NetConstants.WRITE_OVERFLOW_DROP_OLDEST:
+                synchronized (overflowQueue) {
+                    if (overflowQueue.isEmpty() && isWritable()) {
+                        return true;
+                    }
+                    if (overflowQueue.size() >= overflowCapacity) {
+                        overflowQueue.pollFirst();
+                        droppedMessages.increment();
+                    }
+                    overflowQueue.addLast(message);
+                    return false;
+                }
+            case NetConstants.WRITE_OVERFLOW_DISCONNECT:
+                if (isWritable()) {
+                    return true;
+                }
+                droppedMessages.increment();
+                logger.warn("Channel write buffer overflow, will close channel id:" + getChannelId() + " remote address : " + getRemoteAddress());
+                justClose();
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private void write(MessageWrapper message) {
+        if (!batch) {
+            this.getChannelContext().getContext().writeAndFlush(message);
+            flushCount.increment();
+            flushedMessages.increment();
+            return;
+        }
+        inEventLoop(() -> {
+            this.getChannelContext().getContext().write(message);
+            unflushed++;
+            scheduleFlush();
+        });
+    }
+
+    @Override
+    public void send(List<MessageWrapper> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        List<MessageWrapper> admitted = new ArrayList<>(messages.size());
+        for (MessageWrapper message : messages) {
+            if (admit(message)) {
+                admitted.add(message);
+            }
+        }
+        if (admitted.isEmpty()) {
+            return;
+        }
+        inEventLoop(() -> {
+            ChannelHandlerContext ctx = this.getChannelContext().getContext();
+            for (MessageWrapper message : admitted) {
+                ctx.write(message);
+            }
+            unflushed += admitted.size();
+            if (batch) {
+                scheduleFlush();
+            } else {
+                flushBatch();
+            }
+        });
+    }
+
+    /**
+     * 在连接的事件循环中执行；写入、计数和flush调度必须在同一个任务中完成，
+     * 否则事件循环外提交的写入可能排在已提交的flush之后，且因flush未执行而不再调度新的flush
+     *
+     * @param task
+     */
+    private void inEventLoop(Runnable task) {
+        EventExecutor executor = this.getChannelContext().getContext().executor();
+        if (executor.inEventLoop()) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * 提交flush任务到事件循环，任务在当前任务之后执行，同一轮内的多次发送只flush一次；只在事件循环中调用
+     */
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            this.getChannelContext().getContext().executor().execute(flushTask);
+        }
+    }
+
+    private void flushBatch() {
+        flushScheduled = false;
+        int messages = unflushed;
+        unflushed = 0;
+        this.getChannelContext().getContext().flush();
+        if (messages > 0) {
+            flushCount.increment();
+            flushedMessages.add(messages);
+        }
+    }
+
+    /**
+     * 因不可写被丢弃的消息数
+     *
+     * @return
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    /**
+     * flush 次数
+     *
+     * @return
+     */
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    /**
+     * 已flush的消息数
+     *
+     * @return
+     */
+    public long getFlushedMessages() {
+        return flushedMessages.sum();
+    }
+
+    /**
+     * 平均每次flush的消息数
+     *
+     * @return
+     */
+    public double getMessagesPerFlush() {
+        long count = flushCount.sum();
+        return count == 0 ? 0 : (double) flushedMessages.sum() / count;
     }
 
     @Override
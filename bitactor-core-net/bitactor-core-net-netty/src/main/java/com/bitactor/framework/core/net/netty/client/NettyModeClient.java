@@ -82,6 +82,7 @@ public class NettyModeClient extends NettyBaseClient {
         logger.debug("Client receive handshake message :" + channelId + " message : " + handShake.getDataStr());
         HandShakeData handShakeData = JSON.parseObject(handShake.getData(), HandShakeData.class);
         setHandShakeData(handShakeData);
+        channel.setAttrVal(NetConstants.HAND_SHAKE_DATA_KEY, handShakeData);
 
         initHeartbeat(ctx, handShakeData);
         logger.info("[hand shake data                                 ] " + new String(handShake.getData()));
@@ -160,4 +161,13 @@ public class NettyModeClient extends NettyBaseClient {
         }
         this.destroyChannel();
     }
+
+    @Override
+    public void writabilityChangedNotify(String channelId, boolean writable) {
+        Channel channel = this.getChannel();
+        if (channel == null || !channel.getChannelId().equals(channelId)) {
+            return;
+        }
+        channel.onWritabilityChanged(writable);
+    }
 }
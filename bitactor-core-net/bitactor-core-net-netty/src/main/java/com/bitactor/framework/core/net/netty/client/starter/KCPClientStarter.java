@@ -31,6 +31,7 @@ import io.jpower.kcp.netty.UkcpChannelOption;
 import io.jpower.kcp.netty.UkcpClientChannel;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.DefaultThreadFactory;
@@ -99,7 +100,8 @@ public class KCPClientStarter extends AbstractNettyClientStarter<UkcpClientChann
                     .option(UkcpChannelOption.UKCP_MTU, getUrl().getParameter(NetConstants.KCP_MTU_KEY, NetConstants.DEFAULT_KCP_MTU))
                     .option(UkcpChannelOption.UKCP_SND_WND, getUrl().getParameter(NetConstants.KCP_SND_WND, NetConstants.DEFAULT_KCP_SND_WND))
                     .option(UkcpChannelOption.UKCP_RCV_WND, getUrl().getParameter(NetConstants.KCP_RCV_WND, NetConstants.DEFAULT_KCP_RCV_WND))
-                    .option(UkcpChannelOption.UKCP_AUTO_SET_CONV, true);
+                    .option(UkcpChannelOption.UKCP_AUTO_SET_CONV, true)
+                    .option(ChannelOption.WRITE_BUFFER_WATER_MARK, getWriteBufferWaterMark());
             setFuture(bootstrap.connect(getUrl().getHost(), getUrl().getPort()).sync());
             printStartLog();
             getChannelBound().startNotify();
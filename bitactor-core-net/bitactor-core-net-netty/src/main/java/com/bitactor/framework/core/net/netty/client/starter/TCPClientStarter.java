@@ -75,6 +75,7 @@ public class TCPClientStarter extends AbstractNettyClientStarter<NioSocketChanne
                     .option(ChannelOption.SO_KEEPALIVE, true)
                     .option(ChannelOption.TCP_NODELAY, true)
                     .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                    .option(ChannelOption.WRITE_BUFFER_WATER_MARK, getWriteBufferWaterMark())
                     .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, getUrl().getPositiveParameter(NetConstants.TIMEOUT_KEY, NetConstants.DEFAULT_TIMEOUT))
                     .channel(getChannelClass());
             bootstrap.handler(new ChannelInitializer<NioSocketChannel>() {
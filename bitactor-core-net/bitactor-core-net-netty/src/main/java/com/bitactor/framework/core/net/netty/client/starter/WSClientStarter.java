@@ -93,6 +93,7 @@ public class WSClientStarter extends AbstractNettyClientStarter<NioSocketChannel
                     .option(ChannelOption.SO_KEEPALIVE, true)
                     .option(ChannelOption.TCP_NODELAY, true)
                     .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                    .option(ChannelOption.WRITE_BUFFER_WATER_MARK, getWriteBufferWaterMark())
                     .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, getUrl().getPositiveParameter(NetConstants.TIMEOUT_KEY, NetConstants.DEFAULT_TIMEOUT))
                     .channel(getChannelClass());
             bootstrap.handler(new ChannelInitializer<NioSocketChannel>() {
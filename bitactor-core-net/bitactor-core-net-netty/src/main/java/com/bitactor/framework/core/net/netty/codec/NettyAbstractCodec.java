@@ -20,6 +20,8 @@ package com.bitactor.framework.core.net.netty.codec;
 
 import com.bitactor.framework.core.config.UrlProperties;
 import com.bitactor.framework.core.net.api.Codec;
+import com.bitactor.framework.core.net.api.transport.message.MessageWrapper;
+import io.netty.buffer.ByteBuf;
 
 import java.nio.ByteOrder;
 
@@ -39,6 +41,22 @@ public abstract class NettyAbstractCodec implements Codec {
         return getUrl().isBigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
     }
 
+    /**
+     * 将消息直接编码写入 out（通常为 ctx.alloc() 分配的池化缓冲）；
+     * 默认通过 {@link #encode(MessageWrapper)} 编码后拷贝并释放中间缓冲
+     *
+     * @param message
+     * @param out
+     */
+    public void encode(MessageWrapper message, ByteBuf out) {
+        ByteBuf data = (ByteBuf) encode(message);
+        try {
+            out.writeBytes(data);
+        } finally {
+            data.release();
+        }
+    }
+
     public UrlProperties getUrl() {
         return url;
     }
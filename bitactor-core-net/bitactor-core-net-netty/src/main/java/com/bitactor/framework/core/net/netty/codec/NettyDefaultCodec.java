@@ -22,9 +22,12 @@ import com.bitactor.framework.core.constant.NetConstants;
 import com.bitactor.framework.core.net.api.transport.message.*;
 import com.bitactor.framework.core.net.api.type.MessageType;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.EncoderException;
 
+import java.io.IOException;
 import java.nio.ByteOrder;
 
 /**
@@ -43,9 +46,12 @@ public class NettyDefaultCodec extends NettyAbstractCodec {
         MessageWrapper message = null;
         if (buf.isReadable()) {
             byte type = buf.readByte();
-            byte[] data = null;
-            data = ByteBufUtil.getBytes(buf, buf.readerIndex(), buf.readableBytes());
-            message = buildMessage(type, data);
+            if (type == MessageType.TYPE_DATA) {
+                message = buildMessageData(buf);
+            } else {
+                byte[] data = ByteBufUtil.getBytes(buf, buf.readerIndex(), buf.readableBytes());
+                message = buildMessage(type, data);
+            }
         }
         return message;
     }
@@ -53,14 +59,26 @@ public class NettyDefaultCodec extends NettyAbstractCodec {
     @Override
     public Object encode(MessageWrapper message) {
         ByteBuf in = Unpooled.buffer(message.getAllBytesLength());
-        in.writeByte(message.getType());
-        byte[] data = message.getData(getByteOrder());
-        if (data != null) {
-            in.writeBytes(data);
-        }
+        encode(message, in);
         return in;
     }
 
+    /**
+     * 消息类型与消息数据直接写入 out，消息数据由 {@link MessageWrapper#writeData} 写出，不产生中间拷贝
+     *
+     * @param message
+     * @param out
+     */
+    @Override
+    public void encode(MessageWrapper message, ByteBuf out) {
+        out.writeByte(message.getType());
+        try {
+            message.writeData(new ByteBufOutputStream(out), getByteOrder());
+        } catch (IOException e) {
+            throw new EncoderException(e);
+        }
+    }
+
     private MessageWrapper buildMessage(byte type, byte[] data) {
         MessageWrapper msg = null;
         switch (type) {
@@ -86,6 +104,17 @@ public class NettyDefaultCodec extends NettyAbstractCodec {
         return msg;
     }
 
+    /**
+     * 构建数据消息，buf 为去掉消息类型后的剩余帧数据，方法返回后 buf 会被释放，不可再持有；
+     * 默认拷贝为字节数组交给 {@link #buildMessageData(byte[])}，子类可重写直接从 buf 中解析
+     *
+     * @param buf
+     * @return
+     */
+    public MessageWrapper buildMessageData(ByteBuf buf) {
+        return buildMessageData(ByteBufUtil.getBytes(buf, buf.readerIndex(), buf.readableBytes()));
+    }
+
     public MessageWrapper buildMessageData(byte[] data) {
         return new MessageData(data);
     }
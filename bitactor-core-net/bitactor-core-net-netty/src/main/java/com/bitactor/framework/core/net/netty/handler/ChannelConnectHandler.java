@@ -60,4 +60,12 @@ public class ChannelConnectHandler extends ChannelInboundHandlerAdapter {
         }
         super.channelInactive(ctx);
     }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (channelBound != null) {
+            channelBound.writabilityChangedNotify(ctx.channel().id().toString(), ctx.channel().isWritable());
+        }
+        super.channelWritabilityChanged(ctx);
+    }
 }
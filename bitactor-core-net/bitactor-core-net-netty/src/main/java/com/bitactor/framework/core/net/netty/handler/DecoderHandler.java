@@ -75,10 +75,13 @@ public class DecoderHandler extends ByteToMessageDecoder {
     protected final void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> list) throws Exception {
         Object in = decode(channelHandlerContext, byteBuf);
         if (in != null) {
-            Object object = this.channelBound.getCodec().decode(in);
-            list.add(object);
-            // 释放buff 防止内存泄漏
-            ReferenceCountUtil.release(in);
+            try {
+                Object object = this.channelBound.getCodec().decode(in);
+                list.add(object);
+            } finally {
+                // 释放buff 防止内存泄漏，解码器可能直接从 buff 中反序列化，必须在解码完成后释放
+                ReferenceCountUtil.release(in);
+            }
         }
     }
 
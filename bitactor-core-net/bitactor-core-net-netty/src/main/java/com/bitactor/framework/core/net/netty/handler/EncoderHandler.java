@@ -19,7 +19,9 @@ package com.bitactor.framework.core.net.netty.handler;
 
 import com.bitactor.framework.core.constant.NetConstants;
 import com.bitactor.framework.core.net.api.ChannelBound;
+import com.bitactor.framework.core.net.api.Codec;
 import com.bitactor.framework.core.net.api.transport.message.MessageWrapper;
+import com.bitactor.framework.core.net.netty.codec.NettyAbstractCodec;
 import com.bitactor.framework.core.utils.assist.UrlPropertiesUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
@@ -38,17 +40,41 @@ public class EncoderHandler extends MessageToByteEncoder<MessageWrapper> {
 
     private int lengthFieldLength;
 
+    private int maxBytesSize;
+
     public EncoderHandler(ChannelBound channelBound) {
         this.channelBound = channelBound;
         this.lengthFieldLength = UrlPropertiesUtils.getPortoHeadLength(channelBound.getUrl());
+        this.maxBytesSize = channelBound.getUrl().getParameter(NetConstants.BUFFER_KEY, NetConstants.DEFAULT_BUFFER_SIZE);
     }
 
     @Override
     protected void encode(ChannelHandlerContext channelHandlerContext, MessageWrapper messageWrapper, ByteBuf byteBuf) throws Exception {
-        ByteBuf data = (ByteBuf) this.channelBound.getCodec().encode(messageWrapper);
-        long byteLength = data.readableBytes();
-        writeHeadLength(channelHandlerContext, byteBuf, byteLength);
-        byteBuf.writeBytes(data);
+        Codec codec = this.channelBound.getCodec();
+        if (codec instanceof NettyAbstractCodec) {
+            // 先预留头长度，消息直接写入池化缓冲后再回填长度
+            int lengthIndex = byteBuf.writerIndex();
+            byteBuf.writeZero(lengthFieldLength);
+            ((NettyAbstractCodec) codec).encode(messageWrapper, byteBuf);
+            long byteLength = byteBuf.writerIndex() - lengthIndex - lengthFieldLength;
+            checkLength(byteLength);
+            setHeadLength(byteBuf, lengthIndex, byteLength);
+        } else {
+            ByteBuf data = (ByteBuf) codec.encode(messageWrapper);
+            try {
+                long byteLength = data.readableBytes();
+                writeHeadLength(channelHandlerContext, byteBuf, byteLength);
+                byteBuf.writeBytes(data);
+            } finally {
+                data.release();
+            }
+        }
+    }
+
+    private void checkLength(long byteLength) {
+        if (byteLength > maxBytesSize) {
+            throw new EncoderException("the size: " + byteLength + " ,greater than max bytes size");
+        }
     }
 
     /**
@@ -59,9 +85,7 @@ public class EncoderHandler extends MessageToByteEncoder<MessageWrapper> {
      * @param byteLength
      */
     private void writeHeadLength(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, long byteLength) {
-        if (byteLength > channelBound.getUrl().getParameter(NetConstants.BUFFER_KEY, NetConstants.DEFAULT_BUFFER_SIZE)) {
-            throw new EncoderException("the size: " + byteLength + " ,greater than max bytes size");
-        }
+        checkLength(byteLength);
         byteBuf = byteBuf.order(channelBound.getByteOrder());
         switch (lengthFieldLength) {
             case 1:
@@ -84,4 +108,35 @@ public class EncoderHandler extends MessageToByteEncoder<MessageWrapper> {
                         "unsupported lengthFieldLength: " + lengthFieldLength + " (expected: 1, 2, 3, 4, or 8)");
         }
     }
+
+    /**
+     * 回填头长度
+     *
+     * @param byteBuf
+     * @param index
+     * @param byteLength
+     */
+    private void setHeadLength(ByteBuf byteBuf, int index, long byteLength) {
+        byteBuf = byteBuf.order(channelBound.getByteOrder());
+        switch (lengthFieldLength) {
+            case 1:
+                byteBuf.setByte(index, (int) byteLength);
+                break;
+            case 2:
+                byteBuf.setShort(index, (int) byteLength);
+                break;
+            case 3:
+                byteBuf.setMedium(index, (int) byteLength);
+                break;
+            case 4:
+                byteBuf.setInt(index, (int) byteLength);
+                break;
+            case 8:
+                byteBuf.setLong(index, byteLength);
+                break;
+            default:
+                throw new EncoderException(
+                        "unsupported lengthFieldLength: " + lengthFieldLength + " (expected: 1, 2, 3, 4, or 8)");
+        }
+    }
 }
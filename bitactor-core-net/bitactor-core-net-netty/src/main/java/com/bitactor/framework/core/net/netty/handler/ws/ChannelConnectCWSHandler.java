@@ -89,4 +89,12 @@ public class ChannelConnectCWSHandler extends WebSocketClientProtocolHandler {
             channelBound.closeNotify(ctx.channel().id().toString());
         }
     }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (channelBound != null) {
+            channelBound.writabilityChangedNotify(ctx.channel().id().toString(), ctx.channel().isWritable());
+        }
+        super.channelWritabilityChanged(ctx);
+    }
 }
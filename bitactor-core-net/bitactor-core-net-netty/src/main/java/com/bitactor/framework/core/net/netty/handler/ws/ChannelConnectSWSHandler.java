@@ -59,4 +59,12 @@ public class ChannelConnectSWSHandler extends WebSocketServerProtocolHandler {
             channelBound.closeNotify(ctx.channel().id().toString());
         }
     }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (channelBound != null) {
+            channelBound.writabilityChangedNotify(ctx.channel().id().toString(), ctx.channel().isWritable());
+        }
+        super.channelWritabilityChanged(ctx);
+    }
 }
@@ -18,8 +18,10 @@
 package com.bitactor.framework.core.net.netty.handler.ws;
 
 import com.bitactor.framework.core.net.api.ChannelBound;
+import com.bitactor.framework.core.net.api.Codec;
 import com.bitactor.framework.core.net.api.transport.message.MessageClose;
 import com.bitactor.framework.core.net.api.transport.message.MessageWrapper;
+import com.bitactor.framework.core.net.netty.codec.NettyAbstractCodec;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
@@ -52,7 +54,19 @@ public class EncoderWSHandler extends ChannelOutboundHandlerAdapter {
         if (msg instanceof MessageWrapper) {
             MessageWrapper wrapper = (MessageWrapper) msg;
             WebSocketFrame frame = null;
-            ByteBuf data = (ByteBuf) this.channelBound.getCodec().encode(wrapper);
+            Codec codec = this.channelBound.getCodec();
+            ByteBuf data;
+            if (codec instanceof NettyAbstractCodec) {
+                data = ctx.alloc().ioBuffer();
+                try {
+                    ((NettyAbstractCodec) codec).encode(wrapper, data);
+                } catch (Throwable e) {
+                    data.release();
+                    throw e;
+                }
+            } else {
+                data = (ByteBuf) codec.encode(wrapper);
+            }
             frame = new BinaryWebSocketFrame(data);
             ctx.channel().writeAndFlush(frame);
         } else {
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.net.netty.server;
+
+import com.bitactor.framework.core.constant.NetConstants;
+import com.bitactor.framework.core.eventloop.BitactorEventLoop;
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.net.api.transport.message.MessageData;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 连接与消息接收事件循环的绑定；
+ * 迁移只做标记，由分发消息的线程在该连接没有执行中的消息时切换，保证同一连接的消息顺序
+ *
+ * @author WXH
+ */
+public class MsgEventLoopBinding {
+    private volatile BitactorEventLoop eventLoop;
+    /**
+     * 等待迁移到的事件循环
+     */
+    private volatile BitactorEventLoop migrateTo;
+    /**
+     * 已分发但尚未执行完成的消息数
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /**
+     * 已分发的消息数，只由分发消息的线程写入
+     */
+    private volatile long received;
+    /**
+     * 上次迁移检查时的消息数，只由迁移检查使用
+     */
+    private long lastReceived;
+
+    public MsgEventLoopBinding(BitactorEventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+        eventLoop.bindChannel();
+    }
+
+    /**
+     * 将消息分发到绑定的事件循环执行
+     *
+     * @param channel
+     * @param message
+     */
+    public void dispatch(Channel channel, MessageData message) {
+        BitactorEventLoop current = eventLoop;
+        BitactorEventLoop target = migrateTo;
+        if (target != null && inFlight.get() == 0) {
+            // 安全点：之前分发的消息都已执行完，切换后不会与新事件循环上的消息乱序
+            current.unbindChannel();
+            target.bindChannel();
+            eventLoop = target;
+            migrateTo = null;
+            channel.setAttrVal(NetConstants.MESSAGE_RECEIVE_EVENT_LOOP_KEY, target);
+            current = target;
+        }
+        received++;
+        inFlight.incrementAndGet();
+        try {
+            current.execute(() -> {
+                try {
+                    channel.onReceived(message);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 标记迁移，在下一个安全点生效
+     *
+     * @param target
+     */
+    public void migrate(BitactorEventLoop target) {
+        if (target != eventLoop) {
+            migrateTo = target;
+        }
+    }
+
+    /**
+     * 连接关闭时解除绑定
+     */
+    public void unbind() {
+        migrateTo = null;
+        eventLoop.unbindChannel();
+    }
+
+    public BitactorEventLoop getEventLoop() {
+        return eventLoop;
+    }
+
+    public boolean isMigrating() {
+        return migrateTo != null;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 距上次调用新分发的消息数
+     *
+     * @return
+     */
+    long receivedSinceLastCheck() {
+        long current = received;
+        long delta = current - lastReceived;
+        lastReceived = current;
+        return delta;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.net.netty.server;
+
+import com.bitactor.framework.core.constant.NetConstants;
+import com.bitactor.framework.core.eventloop.BitactorEventLoop;
+import com.bitactor.framework.core.eventloop.inf.IEventExecutor;
+import com.bitactor.framework.core.logger.Logger;
+import com.bitactor.framework.core.logger.LoggerFactory;
+import com.bitactor.framework.core.net.api.Channel;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 消息接收事件循环的负载均衡：周期性比较各事件循环的负载，
+ * 最忙与最闲的负载相差超过阈值倍数时，将最忙事件循环上的一个连接标记迁移到最闲的事件循环；
+ * 负载为周期内执行的任务数加上当前等待的任务数，由一个事件循环上的定时任务执行，不需要同步
+ *
+ * @author WXH
+ */
+public class MsgEventLoopRebalancer implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(MsgEventLoopRebalancer.class);
+
+    private final NettyBaseServer server;
+    private final double threshold;
+    /**
+     * 上次检查时各事件循环已执行的任务数
+     */
+    private final Map<BitactorEventLoop, Long> lastCompleted = new IdentityHashMap<>();
+
+    public MsgEventLoopRebalancer(NettyBaseServer server, double threshold) {
+        this.server = server;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void run() {
+        try {
+            rebalance();
+        } catch (Throwable e) {
+            logger.error("Message receive event loop rebalance error", e);
+        }
+    }
+
+    private void rebalance() {
+        BitactorEventLoop hot = null;
+        BitactorEventLoop cold = null;
+        long hotLoad = Long.MIN_VALUE;
+        long coldLoad = Long.MAX_VALUE;
+        for (IEventExecutor executor : server.getMsgEventLoopGroup()) {
+            BitactorEventLoop eventLoop = (BitactorEventLoop) executor;
+            long completed = eventLoop.getCompletedTasks();
+            Long last = lastCompleted.put(eventLoop, completed);
+            long load = completed - (last == null ? completed : last) + eventLoop.pendingTasks();
+            if (load > hotLoad) {
+                hot = eventLoop;
+                hotLoad = load;
+            }
+            if (load < coldLoad) {
+                cold = eventLoop;
+                coldLoad = load;
+            }
+        }
+        // 每个周期都要读取各连接的消息数，保证下个周期的统计只包含该周期
+        MsgEventLoopBinding candidate = null;
+        long candidateReceived = -1;
+        long limit = (hotLoad - coldLoad) / 2;
+        for (Channel channel : server.getChannels()) {
+            MsgEventLoopBinding binding = channel.getAttrVal(NetConstants.MESSAGE_RECEIVE_EVENT_LOOP_BINDING_KEY, null);
+            if (binding == null) {
+                continue;
+            }
+            long received = binding.receivedSinceLastCheck();
+            // 迁移的连接负载不超过差值的一半，避免迁移后两个事件循环的忙闲反转
+            if (binding.getEventLoop() == hot && !binding.isMigrating() && received <= limit && received > candidateReceived) {
+                candidate = binding;
+                candidateReceived = received;
+            }
+        }
+        if (hot == null || hot == cold || hot.getBoundChannels() <= 1 || hotLoad <= threshold * Math.max(coldLoad, 1)) {
+            return;
+        }
+        if (candidate != null) {
+            candidate.migrate(cold);
+            logger.debug("Message receive event loop rebalance, load: " + hotLoad + " -> " + coldLoad + ", channel messages: " + candidateReceived);
+        }
+    }
+}
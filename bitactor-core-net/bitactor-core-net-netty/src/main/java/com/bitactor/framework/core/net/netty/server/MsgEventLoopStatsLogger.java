@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.net.netty.server;
+
+import com.bitactor.framework.core.eventloop.BitactorEventLoopGroup;
+import com.bitactor.framework.core.eventloop.stats.EventExecutorStatsSnapshot;
+import com.bitactor.framework.core.logger.Logger;
+import com.bitactor.framework.core.logger.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * 周期性输出消息接收事件循环的运行统计，每次输出的是与上一周期之间的统计
+ *
+ * @author WXH
+ */
+public class MsgEventLoopStatsLogger implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(MsgEventLoopStatsLogger.class);
+
+    private final BitactorEventLoopGroup eventLoopGroup;
+    private List<EventExecutorStatsSnapshot> previous;
+
+    public MsgEventLoopStatsLogger(BitactorEventLoopGroup eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+        this.previous = eventLoopGroup.statsSnapshot();
+    }
+
+    @Override
+    public void run() {
+        List<EventExecutorStatsSnapshot> current = eventLoopGroup.statsSnapshot();
+        for (int i = 0; i < current.size(); i++) {
+            EventExecutorStatsSnapshot snapshot = current.get(i);
+            if (i < previous.size()) {
+                snapshot = snapshot.since(previous.get(i));
+            }
+            logger.info("Message receive event loop stats: " + snapshot);
+        }
+        previous = current;
+    }
+}
@@ -22,6 +22,10 @@ import com.bitactor.framework.core.config.UrlProperties;
 import com.bitactor.framework.core.constant.NetConstants;
 import com.bitactor.framework.core.constant.RPCConstants;
 import com.bitactor.framework.core.eventloop.BitactorEventLoopGroup;
+import com.bitactor.framework.core.eventloop.WaitStrategy;
+import com.bitactor.framework.core.eventloop.choose.DefaultBitactorEventExecutorChooserFactory;
+import com.bitactor.framework.core.eventloop.choose.IEventExecutorChooserFactory;
+import com.bitactor.framework.core.eventloop.choose.LeastLoadedEventExecutorChooserFactory;
 import com.bitactor.framework.core.exception.NotSupportException;
 import com.bitactor.framework.core.logger.Logger;
 import com.bitactor.framework.core.logger.LoggerFactory;
@@ -43,6 +47,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 基于netty4的io服务
@@ -177,9 +182,33 @@ public abstract class NettyBaseServer extends AbstractServer {
         if (isOpenMsgReceiveEventLoop()) {
             String threadNamePrefix = this.getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_PREFIX_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_PREFIX);
             int threads = getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_THREADS_KEY, NetConstants.DEFAULT_IO_THREADS);
-            this.msgEventLoopGroup = new BitactorEventLoopGroup(threads, new NamedThreadFactory(threadNamePrefix));
+            String queue = getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_QUEUE_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_QUEUE);
+            String chooser = getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_CHOOSER_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_CHOOSER);
+            IEventExecutorChooserFactory chooserFactory = NetConstants.MSG_RECEIVE_EVENT_LOOP_CHOOSER_LEAST_LOADED.equalsIgnoreCase(chooser)
+                    ? LeastLoadedEventExecutorChooserFactory.INSTANCE : DefaultBitactorEventExecutorChooserFactory.INSTANCE;
+            if (NetConstants.MSG_RECEIVE_EVENT_LOOP_QUEUE_BLOCKING.equalsIgnoreCase(queue)) {
+                this.msgEventLoopGroup = new BitactorEventLoopGroup(threads, new NamedThreadFactory(threadNamePrefix), chooserFactory);
+            } else {
+                WaitStrategy waitStrategy = WaitStrategy.of(getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_WAIT_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_WAIT));
+                int capacity = getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_QUEUE_CAPACITY_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_QUEUE_CAPACITY);
+                int batch = getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_BATCH_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_BATCH);
+                this.msgEventLoopGroup = new BitactorEventLoopGroup(threads, new NamedThreadFactory(threadNamePrefix), chooserFactory, waitStrategy, capacity, batch);
+                queue = NetConstants.MSG_RECEIVE_EVENT_LOOP_QUEUE_MPSC + "/" + waitStrategy.name().toLowerCase();
+            }
             logger.info(String.format("[Server open message receive event loop prefix   ] : %s  ", threadNamePrefix));
             logger.info(String.format("[Server open message receive event loop size     ] : %s  ", threads));
+            logger.info(String.format("[Server open message receive event loop queue    ] : %s  ", queue));
+            logger.info(String.format("[Server open message receive event loop chooser  ] : %s  ", chooser));
+            if (getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_REBALANCE_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_REBALANCE)) {
+                long period = getUrl().getPositiveParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_REBALANCE_PERIOD_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_REBALANCE_PERIOD);
+                double threshold = getUrl().getPositiveParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_REBALANCE_THRESHOLD_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_REBALANCE_THRESHOLD);
+                this.msgEventLoopGroup.scheduleAtFixedRate(new MsgEventLoopRebalancer(this, threshold), period, period, TimeUnit.MILLISECONDS);
+                logger.info(String.format("[Server open message receive event loop rebalance] : %sms x%s  ", period, threshold));
+            }
+            long statsPeriod = getUrl().getParameter(NetConstants.MSG_RECEIVE_EVENT_LOOP_STATS_PERIOD_KEY, NetConstants.DEFAULT_MSG_RECEIVE_EVENT_LOOP_STATS_PERIOD);
+            if (statsPeriod > 0) {
+                this.msgEventLoopGroup.scheduleAtFixedRate(new MsgEventLoopStatsLogger(this.msgEventLoopGroup), statsPeriod, statsPeriod, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
@@ -194,6 +223,10 @@ public abstract class NettyBaseServer extends AbstractServer {
         HandShakeData hs = new HandShakeData();
         HandShakeDataBound systemBond = new SystemHandShakeDataBound();
         systemBond.buildCustomHandShakeData(hs, getUrl());
+        // 连接管理者自身也可以提供握手数据，如 RPC 提供者下发方法id字典
+        if (channelManager instanceof HandShakeDataBound) {
+            ((HandShakeDataBound) channelManager).buildCustomHandShakeData(hs, getUrl());
+        }
 
         List<String> classes = Arrays.asList(getUrl().getParameter(NetConstants.HAND_SHAKE_DATA_BOUND_CLASS_KEY, new String[0]));
         if (!CollectionUtils.isEmpty(classes)) {
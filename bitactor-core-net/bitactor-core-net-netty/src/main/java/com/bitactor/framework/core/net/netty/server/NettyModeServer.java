@@ -20,7 +20,7 @@ package com.bitactor.framework.core.net.netty.server;
 
 import com.bitactor.framework.core.config.UrlProperties;
 import com.bitactor.framework.core.constant.NetConstants;
-import com.bitactor.framework.core.eventloop.inf.IEventLoop;
+import com.bitactor.framework.core.eventloop.BitactorEventLoop;
 import com.bitactor.framework.core.logger.Logger;
 import com.bitactor.framework.core.logger.LoggerFactory;
 import com.bitactor.framework.core.net.api.Channel;
@@ -94,7 +94,9 @@ public class NettyModeServer extends NettyBaseServer {
     private void complete(Channel channel) {
         // 如果开启了消息接收线程池
         if (isOpenMsgReceiveEventLoop()) {
-            channel.setAttrVal(NetConstants.MESSAGE_RECEIVE_EVENT_LOOP_KEY, getMsgEventLoopGroup().next());
+            MsgEventLoopBinding binding = new MsgEventLoopBinding((BitactorEventLoop) getMsgEventLoopGroup().next());
+            channel.setAttrVal(NetConstants.MESSAGE_RECEIVE_EVENT_LOOP_BINDING_KEY, binding);
+            channel.setAttrVal(NetConstants.MESSAGE_RECEIVE_EVENT_LOOP_KEY, binding.getEventLoop());
         }
         getCommonPool().execute(() -> {
             channel.onActivity();
@@ -136,11 +138,8 @@ public class NettyModeServer extends NettyBaseServer {
             return;
         }
         if (isOpenMsgReceiveEventLoop()) {
-
-            IEventLoop msgEventLoop = channel.getAttrVal(NetConstants.MESSAGE_RECEIVE_EVENT_LOOP_KEY, null);
-            msgEventLoop.execute(() -> {
-                channel.onReceived(message);
-            });
+            MsgEventLoopBinding binding = channel.getAttrVal(NetConstants.MESSAGE_RECEIVE_EVENT_LOOP_BINDING_KEY, null);
+            binding.dispatch(channel, message);
         } else {
             // netty worker 线程池 执行
             channel.onReceived(message);
@@ -159,7 +158,20 @@ public class NettyModeServer extends NettyBaseServer {
             return;
         }
         this.channelManager.destroyChannel(channelId);
+        MsgEventLoopBinding binding = channel.getAttrVal(NetConstants.MESSAGE_RECEIVE_EVENT_LOOP_BINDING_KEY, null);
+        if (binding != null) {
+            binding.unbind();
+        }
         channel.onDestroy();
         logger.info("Server data channel has closed channel id:" + channelId + " remote address : " + channel.getRemoteAddress());
     }
+
+    @Override
+    public void writabilityChangedNotify(String channelId, boolean writable) {
+        Channel channel = this.getChannel(channelId);
+        if (channel == null) {
+            return;
+        }
+        channel.onWritabilityChanged(writable);
+    }
 }
@@ -31,6 +31,7 @@ import io.jpower.kcp.netty.UkcpServerChannel;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.bootstrap.UkcpServerBootstrap;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.DefaultThreadFactory;
@@ -94,7 +95,8 @@ public class KCPServerStarter extends AbstractNettyServerStarter<UkcpServerChann
                     .childOption(UkcpChannelOption.UKCP_MTU, getUrl().getParameter(NetConstants.KCP_MTU_KEY, NetConstants.DEFAULT_KCP_MTU))
                     .childOption(UkcpChannelOption.UKCP_SND_WND, getUrl().getParameter(NetConstants.KCP_SND_WND, NetConstants.DEFAULT_KCP_SND_WND))
                     .childOption(UkcpChannelOption.UKCP_RCV_WND, getUrl().getParameter(NetConstants.KCP_RCV_WND, NetConstants.DEFAULT_KCP_RCV_WND))
-                    .childOption(UkcpChannelOption.UKCP_AUTO_SET_CONV, true);
+                    .childOption(UkcpChannelOption.UKCP_AUTO_SET_CONV, true)
+                    .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, getWriteBufferWaterMark());
             setFuture(bootstrap.bind(port).sync());
             printStartLog();
             getChannelBound().startNotify();
@@ -89,6 +89,7 @@ public class TCPServerStarter extends AbstractNettyServerStarter<ServerChannel>
             bootstrap.childOption(ChannelOption.TCP_NODELAY, Boolean.TRUE);
             bootstrap.childOption(ChannelOption.SO_REUSEADDR, Boolean.TRUE);
             bootstrap.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+            bootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, getWriteBufferWaterMark());
             //绑定端口启动服务，并等待client连接
             setFuture(bootstrap.bind(port).sync());
             printStartLog();
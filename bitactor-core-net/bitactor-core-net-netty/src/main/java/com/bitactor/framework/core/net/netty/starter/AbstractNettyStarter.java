@@ -19,12 +19,14 @@ package com.bitactor.framework.core.net.netty.starter;
 
 
 import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.constant.NetConstants;
 import com.bitactor.framework.core.logger.Logger;
 import com.bitactor.framework.core.logger.LoggerFactory;
 import com.bitactor.framework.core.net.api.ChannelBound;
 import com.bitactor.framework.core.net.api.Starter;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 
 /**
  * 启动器抽象类
@@ -73,6 +75,17 @@ public abstract class AbstractNettyStarter<T> implements Starter {
         this.future = future;
     }
 
+    /**
+     * 根据url配置构建写缓冲区高低水位
+     *
+     * @return
+     */
+    protected WriteBufferWaterMark getWriteBufferWaterMark() {
+        int high = getUrl().getPositiveParameter(NetConstants.WRITE_BUFFER_HIGH_WATER_MARK_KEY, NetConstants.DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK);
+        int low = getUrl().getPositiveParameter(NetConstants.WRITE_BUFFER_LOW_WATER_MARK_KEY, NetConstants.DEFAULT_WRITE_BUFFER_LOW_WATER_MARK);
+        return new WriteBufferWaterMark(Math.min(low, high), high);
+    }
+
     protected abstract void initBossGroup();
 
     protected abstract void initWorkGroup();
@@ -18,34 +18,34 @@
 package com.bitactor.framework.core.rpc.api;
 
 import com.bitactor.framework.core.rpc.api.invoker.Invocation;
-
-import java.util.concurrent.atomic.AtomicLong;
+import com.bitactor.framework.core.rpc.api.invoker.RPCInvocation;
 
 /**
  * @author WXH
  */
 public class RPCRequest {
-    private static final AtomicLong INVOKE_ID = new AtomicLong(0);
+    // 请求id，由连接在发送需要响应的请求时分配，仅在同一连接内唯一
     private long reqId;
     private String apiId;
     private String group;
     private Invocation invocation;
+    // 握手时协商的方法id，不为0时 apiId、group、方法名和参数类型均不再发送
+    private int methodId;
+    // 方法签名，仅本地使用，用于查找方法id
+    private transient String signature;
+    // 路由键，仅本地使用，用于一致性哈希路由
+    private transient Object routeKey;
 
     public RPCRequest() {
     }
 
     public RPCRequest(String apiId, String group, Invocation invocation) {
-        this.reqId = newId();
         this.apiId = apiId;
         this.invocation = invocation;
         this.group = group;
 
     }
 
-    private static long newId() {
-        return INVOKE_ID.getAndIncrement();
-    }
-
     public long getReqId() {
         return reqId;
     }
@@ -70,6 +70,61 @@ public class RPCRequest {
         this.apiId = apiId;
     }
 
+    public int getMethodId() {
+        return methodId;
+    }
+
+    public void setMethodId(int methodId) {
+        this.methodId = methodId;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public void setSignature(String signature) {
+        this.signature = signature;
+    }
+
+    public Object getRouteKey() {
+        return routeKey;
+    }
+
+    public void setRouteKey(Object routeKey) {
+        this.routeKey = routeKey;
+    }
+
+    /**
+     * 构建只携带方法id的精简请求，用于网络发送，原请求保持不变
+     *
+     * @param methodId 握手时协商的方法id
+     * @return
+     */
+    public RPCRequest compact(int methodId) {
+        RPCRequest request = new RPCRequest();
+        request.setReqId(this.reqId);
+        request.setMethodId(methodId);
+        RPCInvocation compactInvocation = new RPCInvocation();
+        compactInvocation.setArguments(invocation.getArguments());
+        compactInvocation.setAttachments(invocation.getAttachments());
+        compactInvocation.setAsync(invocation.isAsync());
+        request.setInvocation(compactInvocation);
+        return request;
+    }
+
+    /**
+     * 复制请求用于重新发送，请求id由新的连接重新分配；原请求可能仍在原连接的发送队列中等待序列化，不能修改
+     *
+     * @return
+     */
+    public RPCRequest copy() {
+        RPCRequest request = new RPCRequest(apiId, group, invocation);
+        request.setMethodId(this.methodId);
+        request.setSignature(this.signature);
+        request.setRouteKey(this.routeKey);
+        return request;
+    }
+
     public Invocation getInvocation() {
         return invocation;
     }
@@ -84,6 +139,7 @@ public class RPCRequest {
                 "reqId=" + reqId +
                 ", apiId='" + apiId + '\'' +
                 ", group='" + group + '\'' +
+                ", methodId=" + methodId +
                 ", invocation=" + invocation +
                 '}';
     }
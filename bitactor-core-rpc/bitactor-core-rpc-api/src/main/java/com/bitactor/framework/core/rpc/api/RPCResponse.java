@@ -21,19 +21,31 @@ package com.bitactor.framework.core.rpc.api;
 import com.bitactor.framework.core.rpc.api.type.ResponseType;
 import com.bitactor.framework.core.utils.lang.StringUtils;
 
+import java.util.Arrays;
+
 /**
+ * RPC 响应，只携带请求id、状态和结果，不再回传整个请求；
+ * 需要回写的参数（见 {@link com.bitactor.framework.core.rpc.api.annotation.WriteBack}）按下标单独携带
+ *
  * @author WXH
  */
 public class RPCResponse {
-    private RPCRequest request;
+    private long reqId;
     private RPCResult result;
     private String errorMsg;
     private ResponseType status = ResponseType.OK;
+    // 回写参数的下标，与 writeBackArgs 一一对应
+    private int[] writeBackIndexes;
+    // 回写参数
+    private Object[] writeBackArgs;
+    // 对应的请求，仅本地使用不被序列化，消费者收到响应后关联为原始请求
+    private transient RPCRequest request;
 
     public RPCResponse() {
     }
 
     public RPCResponse(RPCRequest request, RPCResult result) {
+        this.reqId = request.getReqId();
         this.request = request;
         this.result = result;
         if (result.hasException()) {
@@ -43,11 +55,42 @@ public class RPCResponse {
     }
 
     public RPCResponse(RPCRequest request, RPCResult result, ResponseType status) {
+        this.reqId = request.getReqId();
         this.request = request;
         this.result = result;
         this.status = status;
     }
 
+    /**
+     * 设置需要回写的参数
+     *
+     * @param indexes   参数下标（升序）
+     * @param arguments 调用的全部参数
+     */
+    public void writeBack(int[] indexes, Object[] arguments) {
+        if (indexes == null || indexes.length == 0 || arguments == null) {
+            return;
+        }
+        Object[] args = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            args[i] = indexes[i] < arguments.length ? arguments[indexes[i]] : null;
+        }
+        this.writeBackIndexes = indexes;
+        this.writeBackArgs = args;
+    }
+
+    public boolean hasWriteBack() {
+        return writeBackIndexes != null && writeBackIndexes.length > 0;
+    }
+
+    public long getReqId() {
+        return reqId;
+    }
+
+    public void setReqId(long reqId) {
+        this.reqId = reqId;
+    }
+
     public ResponseType getStatus() {
         return status;
     }
@@ -80,13 +123,30 @@ public class RPCResponse {
         this.errorMsg = errorMsg;
     }
 
+    public int[] getWriteBackIndexes() {
+        return writeBackIndexes;
+    }
+
+    public void setWriteBackIndexes(int[] writeBackIndexes) {
+        this.writeBackIndexes = writeBackIndexes;
+    }
+
+    public Object[] getWriteBackArgs() {
+        return writeBackArgs;
+    }
+
+    public void setWriteBackArgs(Object[] writeBackArgs) {
+        this.writeBackArgs = writeBackArgs;
+    }
+
     @Override
     public String toString() {
         return "RPCResponse{" +
-                "request=" + request +
+                "reqId=" + reqId +
                 ", result=" + result +
                 ", errorMsg='" + errorMsg + '\'' +
                 ", status=" + status +
+                ", writeBackIndexes=" + Arrays.toString(writeBackIndexes) +
                 '}';
     }
 }
@@ -20,7 +20,8 @@ package com.bitactor.framework.core.rpc.api.annotation;
 import java.lang.annotation.*;
 
 /**
- * 异步注解
+ * 异步注解，方法须为 void 并携带 {@link com.bitactor.framework.core.rpc.api.async.AsyncResult} 回调参数；
+ * 需要组合调用时可直接声明 {@link java.util.concurrent.CompletableFuture}/{@link java.util.concurrent.CompletionStage} 返回值
  *
  * @author WXH
  */
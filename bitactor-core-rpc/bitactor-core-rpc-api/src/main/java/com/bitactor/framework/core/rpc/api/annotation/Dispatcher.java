@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.api.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 提供者分发调用的方式，标注在接口或方法上，方法上的优先；未标注时使用url中的 provider.dispatcher
+ * <ul>
+ * <li>direct：在接收消息的线程上执行</li>
+ * <li>channel：在线程池中执行，同一连接的请求按顺序执行</li>
+ * <li>key：在线程池中执行，{@link DispatchKey} 参数相同的请求按顺序执行</li>
+ * <li>pool：在线程池中执行，不保证顺序</li>
+ * <li>virtual：每个请求一个虚拟线程，不保证顺序</li>
+ * </ul>
+ *
+ * @author WXH
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface Dispatcher {
+    String value();
+}
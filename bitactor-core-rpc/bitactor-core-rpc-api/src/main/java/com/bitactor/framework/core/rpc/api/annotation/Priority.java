@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.api.annotation;
+
+import com.bitactor.framework.core.rpc.api.type.PriorityType;
+
+import java.lang.annotation.*;
+
+/**
+ * 调用优先级，标注在接口或方法上，方法上的优先；未标注时为 {@link PriorityType#NORMAL}，
+ * 提供者开启准入控制（provider.shed.target）后，过载时按优先级丢弃请求并返回过载响应
+ *
+ * @author WXH
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface Priority {
+    PriorityType value();
+}
@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.api.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 路由键，标注在参数上；配合 {@link com.bitactor.framework.core.rpc.api.router.ConsistentHashRouterAdapter} 使用时，
+ * 该参数相同（按 hashCode/equals）的调用总是发往同一提供者的同一连接，例如实体id
+ *
+ * @author WXH
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RouteKey {
+}
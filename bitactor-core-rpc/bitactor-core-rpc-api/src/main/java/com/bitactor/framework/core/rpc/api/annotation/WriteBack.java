@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.api.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 参数回写注解，提供者调用结束后将被修改的参数随响应带回，由消费者回写到原始参数中；
+ * 未标注的方法响应中不再携带任何参数
+ *
+ * @author WXH
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface WriteBack {
+    /**
+     * 需要回写的参数下标，为空时回写全部非简单类型的参数
+     *
+     * @return
+     */
+    int[] value() default {};
+}
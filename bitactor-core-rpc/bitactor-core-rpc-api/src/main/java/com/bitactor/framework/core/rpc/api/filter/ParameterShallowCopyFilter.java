@@ -21,6 +21,7 @@ package com.bitactor.framework.core.rpc.api.filter;
 import com.bitactor.framework.core.logger.Logger;
 import com.bitactor.framework.core.rpc.api.RPCRequest;
 import com.bitactor.framework.core.rpc.api.RPCResponse;
+import com.bitactor.framework.core.rpc.api.async.AsyncResult;
 import com.bitactor.framework.core.utils.cglib.CglibBeanCopierUtils;
 import com.bitactor.framework.core.utils.collection.CollectionUtils;
 import com.bitactor.framework.core.utils.lang.ClassHelper;
@@ -46,15 +47,22 @@ public class ParameterShallowCopyFilter implements Filter {
         if (request == null || response == null) {
             return;
         }
+        if (!response.hasWriteBack()) {
+            return;
+        }
         Object[] originalArgs = request.getInvocation().getArguments();
-        Object[] resultArgs = response.getRequest().getInvocation().getArguments();
-        if (originalArgs.length != resultArgs.length) {
-            logger.error(new RuntimeException("Do filter failed by originalArgs and resultArgs length not equality"));
+        int[] indexes = response.getWriteBackIndexes();
+        Object[] writeBackArgs = response.getWriteBackArgs();
+        if (writeBackArgs == null || indexes.length != writeBackArgs.length) {
+            logger.error(new RuntimeException("Do filter failed by writeBackIndexes and writeBackArgs length not equality"));
+            return;
         }
-        for (int i = 0; i < originalArgs.length; i++) {
-            if (originalArgs[i] == null) {
+        for (int k = 0; k < indexes.length; k++) {
+            int i = indexes[k];
+            if (i >= originalArgs.length || originalArgs[i] == null || writeBackArgs[k] == null) {
                 continue;
             }
+            Object resultArg = writeBackArgs[k];
             // 指定的类型是基本类型或简单类型
             if (ClassUtils.isPrimitive(originalArgs[i].getClass())) {
                 continue;
@@ -62,21 +70,21 @@ public class ParameterShallowCopyFilter implements Filter {
             // 数组类型
             if (ClassHelper.isArrayType(originalArgs[i].getClass())) {
                 Object[] o = (Object[]) originalArgs[i];
-                Object[] r = (Object[]) resultArgs[i];
+                Object[] r = (Object[]) resultArg;
                 ClassHelper.cloneArray(o, r);
                 continue;
             }
             // map类型
             if (originalArgs[i] instanceof Map) {
                 Map o = (Map) originalArgs[i];
-                Map r = (Map) resultArgs[i];
+                Map r = (Map) resultArg;
                 CollectionUtils.cloneMap(o, r);
                 continue;
             }
             // list类型
             if (originalArgs[i] instanceof Collection) {
                 Collection o = (Collection) originalArgs[i];
-                Collection r = (Collection) resultArgs[i];
+                Collection r = (Collection) resultArg;
                 CollectionUtils.cloneCollection(o, r);
                 continue;
             }
@@ -84,8 +92,12 @@ public class ParameterShallowCopyFilter implements Filter {
             if (originalArgs[i] instanceof Enum) {
                 continue;
             }
+            //异步回调由 RPCSender 处理
+            if (originalArgs[i] instanceof AsyncResult) {
+                continue;
+            }
             // bean
-            CglibBeanCopierUtils.copyProperties(originalArgs[i], resultArgs[i]);
+            CglibBeanCopierUtils.copyProperties(originalArgs[i], resultArg);
         }
     }
 }
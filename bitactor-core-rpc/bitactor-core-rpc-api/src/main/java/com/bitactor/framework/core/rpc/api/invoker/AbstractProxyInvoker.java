@@ -77,6 +77,25 @@ public abstract class AbstractProxyInvoker<T> implements Invoker<T> {
         }
     }
 
+    /**
+     * 获取绑定到指定方法的调用器，子类可重写以提供直接调用
+     *
+     * @param methodName
+     * @param parameterTypes
+     * @return
+     */
+    public MethodInvoker getMethodInvoker(final String methodName, final Class<?>[] parameterTypes) {
+        return arguments -> {
+            try {
+                return new RPCResult(doInvoke(proxy, methodName, parameterTypes, arguments));
+            } catch (InvocationTargetException e) {
+                return new RPCResult(e.getTargetException());
+            } catch (Throwable e) {
+                throw new RpcException("Failed to invoke remote proxy method " + methodName + " to " + getUrl() + ", cause: " + e.getMessage(), e);
+            }
+        };
+    }
+
     protected abstract Object doInvoke(T proxy, String methodName, Class<?>[] parameterTypes, Object[] arguments) throws Throwable;
 
     @Override
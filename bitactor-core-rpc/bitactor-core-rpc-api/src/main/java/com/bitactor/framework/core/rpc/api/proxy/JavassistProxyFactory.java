@@ -21,11 +21,15 @@ package com.bitactor.framework.core.rpc.api.proxy;
 import com.bitactor.framework.core.code.Wrapper;
 import com.bitactor.framework.core.config.UrlProperties;
 import com.bitactor.framework.core.exception.RpcException;
+import com.bitactor.framework.core.rpc.api.RPCResult;
 import com.bitactor.framework.core.rpc.api.invoker.AbstractInvokerHandler;
 import com.bitactor.framework.core.rpc.api.invoker.AbstractProxyInvoker;
 import com.bitactor.framework.core.rpc.api.invoker.Invoker;
+import com.bitactor.framework.core.rpc.api.invoker.MethodInvoker;
 import com.bitactor.framework.core.rpc.api.proxy.javassist.Proxy;
 
+import java.lang.reflect.InvocationTargetException;
+
 /**
  * @author WXH
  */
@@ -45,6 +49,23 @@ public class JavassistProxyFactory extends AbstractProxyFactory {
             protected Object doInvoke(T proxy, String methodName, Class<?>[] parameterTypes, Object[] arguments) throws Throwable {
                 return wrapper.invokeMethod(proxy, methodName, parameterTypes, arguments);
             }
+
+            @Override
+            public MethodInvoker getMethodInvoker(String methodName, Class<?>[] parameterTypes) {
+                final int methodIndex = wrapper.getMethodIndex(methodName, parameterTypes);
+                if (methodIndex < 0) {
+                    return super.getMethodInvoker(methodName, parameterTypes);
+                }
+                return arguments -> {
+                    try {
+                        return new RPCResult(wrapper.invokeMethod(proxy, methodIndex, arguments));
+                    } catch (InvocationTargetException e) {
+                        return new RPCResult(e.getTargetException());
+                    } catch (Throwable e) {
+                        throw new RpcException("Failed to invoke remote proxy method " + methodName + " to " + getUrl() + ", cause: " + e.getMessage(), e);
+                    }
+                };
+            }
         };
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.api.router;
+
+/**
+ * 自适应并发上限（Vegas 算法）：以观测到的最小延迟作为无排队延迟，
+ * 按 上限 * (1 - 最小延迟 / 当前延迟) 估算提供者端的排队请求数，排队少时增加上限，排队多时减少上限，
+ * 请求失败（超时、连接断开）时按比例收缩，每个往返窗口最多收缩一次：只有在上次收缩之后发出的请求失败才再次收缩，
+ * 连接断开时同时失败的全部在途请求只收缩一次；每隔一定样本数用当前延迟重置最小延迟，以适应提供者的变化
+ * <p>
+ * 非线程安全，由 {@link ProviderStats} 在同步块内更新
+ *
+ * @author WXH
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final int MIN_LIMIT = 1;
+    /**
+     * 失败时上限的收缩比例
+     */
+    private static final double BACKOFF_RATIO = 0.9;
+    /**
+     * 每 上限 * 该倍数 个样本重置一次最小延迟
+     */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int maxLimit;
+    private volatile int limit;
+    private long noLoadRttNanos;
+    private long samples;
+    /**
+     * 上次收缩的时间，早于该时间发出的请求失败时不再收缩
+     */
+    private long backoffNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int maxLimit) {
+        this.maxLimit = Math.max(MIN_LIMIT, maxLimit);
+        this.limit = Math.max(MIN_LIMIT, Math.min(initialLimit, this.maxLimit));
+    }
+
+    /**
+     * 记录一次请求结果
+     *
+     * @param rttNanos 请求耗时
+     * @param inFlight 请求完成前的在途请求数
+     * @param dropped  请求是否失败
+     */
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        int current = limit;
+        if (dropped) {
+            long now = System.nanoTime();
+            if (now - rttNanos - backoffNanos >= 0) {
+                backoffNanos = now;
+                limit = Math.max(MIN_LIMIT, (int) (current * BACKOFF_RATIO));
+            }
+            return;
+        }
+        if (++samples >= (long) current * PROBE_MULTIPLIER) {
+            samples = 0;
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        // 在途请求远低于上限时，样本不能说明上限是否足够
+        if (inFlight * 2 < current) {
+            return;
+        }
+        double queue = Math.ceil(current * (1 - (double) noLoadRttNanos / rttNanos));
+        double step = Math.max(1, Math.log10(current));
+        if (queue <= 3 * step) {
+            limit = (int) Math.min(maxLimit, current + step);
+        } else if (queue >= 6 * step) {
+            limit = (int) Math.max(MIN_LIMIT, current - step);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getNoLoadRttNanos() {
+        return noLoadRttNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyLimit{" +
+                "limit=" + limit +
+                ", maxLimit=" + maxLimit +
+                ", noLoadRttMs=" + String.format("%.3f", noLoadRttNanos / 1000000D) +
+                '}';
+    }
+}
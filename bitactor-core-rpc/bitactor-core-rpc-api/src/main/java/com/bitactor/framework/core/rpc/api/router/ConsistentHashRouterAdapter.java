@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.api.router;
+
+
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.net.api.transport.AbstractClient;
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.utils.collection.CollectionUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一致性哈希路由，按 {@link com.bitactor.framework.core.rpc.api.annotation.RouteKey} 参数将调用映射到带虚拟节点的提供者哈希环上；
+ * 提供者加入或离开时只有相邻区间的键会迁移。提供者内的连接由消费者按路由键固定选择，
+ * 未携带路由键的调用交给备用路由。
+ * 候选提供者是环上成员的子集时（如重试时排除失败的提供者）不重建哈希环，顺时针跳过不在候选中的节点，
+ * 结果与按候选重建的环一致；只有出现新的提供者时才重建。
+ * 传入的列表与构建时相同（如路由快照未变化）时，只做一次二分查找，不读取提供者id
+ *
+ * @author WXH
+ */
+public class ConsistentHashRouterAdapter implements RouterAdapter {
+    /**
+     * 每个提供者默认的虚拟节点数
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(ConsistentHashRouterAdapter::md5);
+
+    private final int virtualNodes;
+    private final RouterAdapter fallback;
+    /**
+     * 当前提供者集合对应的哈希环，提供者变化时整体替换
+     */
+    private volatile Ring ring = new Ring(Collections.<AbstractClient>emptyList(), 0);
+
+    public ConsistentHashRouterAdapter() {
+        this(DEFAULT_VIRTUAL_NODES, new PollingRouterAdapter());
+    }
+
+    /**
+     * @param virtualNodes 每个提供者的虚拟节点数
+     * @param fallback     未携带路由键时使用的路由
+     */
+    public ConsistentHashRouterAdapter(int virtualNodes, RouterAdapter fallback) {
+        if (fallback == null) {
+            throw new NullPointerException("fallback routerAdapter");
+        }
+        this.virtualNodes = Math.max(1, virtualNodes);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Channel routerAdapter(List<AbstractClient> clients, RPCRequest request) {
+        if (CollectionUtils.isEmpty(clients)) {
+            return null;
+        }
+        Object key = request == null ? null : request.getRouteKey();
+        if (key == null) {
+            return fallback.routerAdapter(clients, request);
+        }
+        Ring current = ring;
+        if (current.clients != clients) {
+            if (!current.covers(clients)) {
+                current = rebuild(clients);
+            } else if (current.members.length == clients.size()) {
+                // 提供者集合未变，只是列表重建（如路由快照更新），绑定到新的列表上
+                current = current.rebind(clients);
+                ring = current;
+            }
+        }
+        int index = current.locate(hash(key));
+        if (current.clients == clients) {
+            return current.members[current.owner(index)].getChannel();
+        }
+        // 候选是环上成员的子集，顺时针跳过不在候选中的节点
+        boolean[] present = new boolean[current.members.length];
+        for (AbstractClient client : clients) {
+            present[current.indexes.get(client)] = true;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            int owner = current.owner(index + i);
+            if (present[owner]) {
+                return current.members[owner].getChannel();
+            }
+        }
+        return fallback.routerAdapter(clients, request);
+    }
+
+    private synchronized Ring rebuild(List<AbstractClient> clients) {
+        Ring current = ring;
+        if (current.clients == clients || current.covers(clients)) {
+            return current;
+        }
+        current = new Ring(clients, virtualNodes);
+        ring = current;
+        return current;
+    }
+
+    /**
+     * 路由键在环上的位置，与虚拟节点相同取 {@link String#valueOf(Object)} 的 MD5，
+     * 不依赖 hashCode，不同消费者进程中同一个键的位置一致，相邻的数字id也均匀分布
+     *
+     * @param key
+     * @return
+     */
+    public static long hash(Object key) {
+        return point(MD5.get().digest(String.valueOf(key).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long point(byte[] digest) {
+        long point = 0;
+        for (int b = 0; b < 8; b++) {
+            point = (point << 8) | (digest[b] & 0xff);
+        }
+        return point;
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 哈希环，虚拟节点按提供者id计算位置，节点所属的提供者以下标保存；
+     * 提供者按客户端对象识别，成员和下标在构建时确定，路由时不再读取提供者id
+     */
+    private static class Ring {
+        /**
+         * 构建或最近绑定的候选列表，路由时传入同一列表可直接取节点所属的提供者
+         */
+        private final List<AbstractClient> clients;
+        private final AbstractClient[] members;
+        private final Map<AbstractClient, Integer> indexes;
+        private final long[] points;
+        private final int[] owners;
+
+        Ring(List<AbstractClient> clients, int virtualNodes) {
+            this.clients = clients;
+            this.members = clients.toArray(new AbstractClient[0]);
+            this.indexes = new IdentityHashMap<>(members.length);
+            long[][] nodes = new long[members.length * virtualNodes][];
+            MessageDigest md5 = MD5.get();
+            int n = 0;
+            for (int m = 0; m < members.length; m++) {
+                indexes.put(members[m], m);
+                String name = members[m].getUrl().getGroupAndId();
+                for (int i = 0; i < virtualNodes; i++) {
+                    nodes[n++] = new long[]{point(md5.digest((name + "#" + i).getBytes(StandardCharsets.UTF_8))), m};
+                }
+            }
+            Arrays.sort(nodes, (a, b) -> Long.compare(a[0], b[0]));
+            this.points = new long[nodes.length];
+            this.owners = new int[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                points[i] = nodes[i][0];
+                owners[i] = (int) nodes[i][1];
+            }
+        }
+
+        private Ring(Ring ring, List<AbstractClient> clients) {
+            this.clients = clients;
+            this.members = ring.members;
+            this.indexes = ring.indexes;
+            this.points = ring.points;
+            this.owners = ring.owners;
+        }
+
+        /**
+         * 成员相同的环绑定到新的候选列表，共享节点数据
+         *
+         * @param clients
+         * @return
+         */
+        Ring rebind(List<AbstractClient> clients) {
+            return new Ring(this, clients);
+        }
+
+        /**
+         * 候选提供者是否都在环上；已离开的成员超过候选数时也重建，避免环上积累过多已离开的节点
+         *
+         * @param clients
+         * @return
+         */
+        boolean covers(List<AbstractClient> clients) {
+            if (members.length > clients.size() << 1) {
+                return false;
+            }
+            for (AbstractClient client : clients) {
+                if (!indexes.containsKey(client)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 顺时针查找第一个不小于该位置的虚拟节点
+         *
+         * @param hash
+         * @return 虚拟节点下标
+         */
+        int locate(long hash) {
+            int index = Arrays.binarySearch(points, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index == points.length ? 0 : index;
+        }
+
+        /**
+         * 虚拟节点所属的提供者下标，节点下标超出时回绕到环首
+         *
+         * @param index
+         * @return
+         */
+        int owner(int index) {
+            return owners[index % owners.length];
+        }
+
+        int size() {
+            return owners.length;
+        }
+    }
+}
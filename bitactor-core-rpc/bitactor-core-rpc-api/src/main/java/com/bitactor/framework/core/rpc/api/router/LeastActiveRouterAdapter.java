@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.api.router;
+
+
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.net.api.transport.AbstractClient;
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.utils.collection.CollectionUtils;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 最少在途请求路由，选择在途请求最少的提供者，相同时在其中随机选择；达到并发上限的提供者排在最后
+ *
+ * @author WXH
+ */
+public class LeastActiveRouterAdapter implements RouterAdapter {
+
+    @Override
+    public Channel routerAdapter(List<AbstractClient> clients, RPCRequest request) {
+        if (CollectionUtils.isEmpty(clients)) {
+            return null;
+        }
+        Channel selected = null;
+        int leastActive = Integer.MAX_VALUE;
+        int leastCount = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (AbstractClient client : clients) {
+            Channel channel = client.getChannel();
+            ProviderStats stats = ProviderStats.of(channel);
+            int active = stats.isSaturated() ? Integer.MAX_VALUE : stats.getActive();
+            if (selected == null || active < leastActive) {
+                leastActive = active;
+                leastCount = 1;
+                selected = channel;
+            } else if (active == leastActive && random.nextInt(++leastCount) == 0) {
+                // 蓄水池抽样，相同在途数的提供者等概率选中
+                selected = channel;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.api.router;
+
+
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.net.api.transport.AbstractClient;
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.utils.collection.CollectionUtils;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 二选一路由，随机取两个提供者，选择 {@link ProviderStats#cost()} 较低的一个；
+ * 延迟和在途请求由 rpc 发送端在请求完成时统计
+ *
+ * @author WXH
+ */
+public class P2CRouterAdapter implements RouterAdapter {
+
+    @Override
+    public Channel routerAdapter(List<AbstractClient> clients, RPCRequest request) {
+        if (CollectionUtils.isEmpty(clients)) {
+            return null;
+        }
+        int size = clients.size();
+        if (size == 1) {
+            return clients.get(0).getChannel();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Channel a = clients.get(first).getChannel();
+        Channel b = clients.get(second).getChannel();
+        return ProviderStats.of(a).cost() <= ProviderStats.of(b).cost() ? a : b;
+    }
+}
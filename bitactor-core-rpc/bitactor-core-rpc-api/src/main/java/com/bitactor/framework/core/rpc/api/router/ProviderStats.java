@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.api.router;
+
+import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.constant.RPCConstants;
+import com.bitactor.framework.core.net.api.Channel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 提供者的调用统计，按提供者（groupAndId）汇总同一提供者全部连接上的请求；
+ * 由消费者在请求发出和完成时更新，供按延迟和并发选择提供者的路由使用
+ * <p>
+ * 延迟采用带峰值的指数加权移动平均：新样本高于当前值时直接取新样本，
+ * 否则按距上次更新的时间衰减，提供者出现停顿时能立即被避开，恢复后逐渐重新分到流量
+ * <p>
+ * 开启 {@link RPCConstants#CONSUMER_LIMIT_KEY} 时，在途请求数受 {@link AdaptiveConcurrencyLimit} 限制，
+ * 达到上限的提供者在路由时被优先避开
+ *
+ * @author WXH
+ */
+public class ProviderStats {
+    /**
+     * 延迟衰减的时间常数
+     */
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+    /**
+     * 失败请求按不低于该延迟计入，避免快速失败的提供者被误判为更快
+     */
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Map<String, ProviderStats> STATS = new ConcurrentHashMap<>();
+
+    private final String provider;
+    /**
+     * 已发出未完成的请求数
+     */
+    private final AtomicInteger active = new AtomicInteger();
+    private volatile double ewmaNanos;
+    private long lastUpdateNanos = System.nanoTime();
+    private volatile long completed;
+    private volatile long failed;
+    /**
+     * 自适应并发上限，未开启限流时为 null
+     */
+    private final AdaptiveConcurrencyLimit limit;
+    /**
+     * 达到上限时排队等待的时间（毫秒）
+     */
+    private final long queueTimeout;
+    private int waiting;
+
+    private ProviderStats(String provider, UrlProperties url) {
+        this.provider = provider;
+        if (url != null && url.getParameter(RPCConstants.CONSUMER_LIMIT_KEY, RPCConstants.DEFAULT_CONSUMER_LIMIT)) {
+            this.limit = new AdaptiveConcurrencyLimit(
+                    url.getPositiveParameter(RPCConstants.CONSUMER_LIMIT_INITIAL_KEY, RPCConstants.DEFAULT_CONSUMER_LIMIT_INITIAL),
+                    url.getPositiveParameter(RPCConstants.CONSUMER_LIMIT_MAX_KEY, RPCConstants.DEFAULT_CONSUMER_LIMIT_MAX));
+            this.queueTimeout = Math.max(0, url.getParameter(RPCConstants.CONSUMER_LIMIT_QUEUE_TIMEOUT_KEY, RPCConstants.DEFAULT_CONSUMER_LIMIT_QUEUE_TIMEOUT));
+        } else {
+            this.limit = null;
+            this.queueTimeout = 0;
+        }
+    }
+
+    /**
+     * 获取连接对应提供者的统计，首次创建时按连接的url决定是否开启限流
+     *
+     * @param channel
+     * @return
+     */
+    public static ProviderStats of(Channel channel) {
+        String provider = channel.getUrl().getGroupAndId();
+        ProviderStats stats = STATS.get(provider);
+        if (stats == null) {
+            stats = STATS.computeIfAbsent(provider, key -> new ProviderStats(key, channel.getUrl()));
+        }
+        return stats;
+    }
+
+    public static ProviderStats of(String provider) {
+        ProviderStats stats = STATS.get(provider);
+        if (stats == null) {
+            stats = STATS.computeIfAbsent(provider, key -> new ProviderStats(key, null));
+        }
+        return stats;
+    }
+
+    /**
+     * 全部提供者的统计
+     *
+     * @return
+     */
+    public static Map<String, ProviderStats> all() {
+        return STATS;
+    }
+
+    /**
+     * 请求发出，开启限流且达到上限时最多排队等待 {@link RPCConstants#CONSUMER_LIMIT_QUEUE_TIMEOUT_KEY}
+     *
+     * @return 达到上限且等待超时返回 false，此时请求不应发出
+     */
+    public boolean begin() {
+        if (tryBegin()) {
+            return true;
+        }
+        if (queueTimeout <= 0) {
+            return false;
+        }
+        long deadline = System.currentTimeMillis() + queueTimeout;
+        synchronized (this) {
+            while (!tryBegin()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                waiting++;
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } finally {
+                    waiting--;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean tryBegin() {
+        if (limit == null) {
+            active.incrementAndGet();
+            return true;
+        }
+        for (; ; ) {
+            int current = active.get();
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 是否已达到并发上限
+     *
+     * @return
+     */
+    public boolean isSaturated() {
+        return limit != null && active.get() >= limit.getLimit();
+    }
+
+    /**
+     * 请求完成（收到响应、超时或连接断开）
+     *
+     * @param latencyNanos 请求耗时
+     * @param success      是否收到响应
+     */
+    public void end(long latencyNanos, boolean success) {
+        int inFlight = active.getAndDecrement();
+        long sample = success ? latencyNanos : Math.max(latencyNanos, FAILURE_PENALTY_NANOS);
+        synchronized (this) {
+            long now = System.nanoTime();
+            double current = ewmaNanos;
+            if (sample > current) {
+                ewmaNanos = sample;
+            } else {
+                double weight = Math.exp(-(now - lastUpdateNanos) / DECAY_NANOS);
+                ewmaNanos = current * weight + sample * (1 - weight);
+            }
+            lastUpdateNanos = now;
+            if (success) {
+                completed++;
+            } else {
+                failed++;
+            }
+            if (limit != null) {
+                limit.onSample(latencyNanos, inFlight, !success);
+                if (waiting > 0) {
+                    notify();
+                }
+            }
+        }
+    }
+
+    /**
+     * 选择代价，延迟越高、在途请求越多代价越大；未有样本的提供者代价最低以便尽快获得样本，
+     * 达到并发上限的提供者代价最高
+     *
+     * @return
+     */
+    public double cost() {
+        if (isSaturated()) {
+            return Double.MAX_VALUE;
+        }
+        return (ewmaNanos + 1) * (active.get() + 1);
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public double getEwmaNanos() {
+        return ewmaNanos;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * 当前并发上限，未开启限流时返回 -1
+     *
+     * @return
+     */
+    public int getLimit() {
+        return limit == null ? -1 : limit.getLimit();
+    }
+
+    @Override
+    public String toString() {
+        return "ProviderStats{" +
+                "provider='" + provider + '\'' +
+                ", active=" + active +
+                ", ewmaMs=" + String.format("%.3f", ewmaNanos / 1000000D) +
+                ", completed=" + completed +
+                ", failed=" + failed +
+                ", limit=" + getLimit() +
+                '}';
+    }
+}
@@ -29,6 +29,7 @@ import com.bitactor.framework.core.rpc.api.router.RouterAdapter;
 import com.bitactor.framework.core.utils.assist.UrlPropertiesUtils;
 import com.bitactor.framework.core.utils.collection.CollectionUtils;
 import com.bitactor.framework.core.utils.lang.StringUtils;
+import com.bitactor.framework.core.net.api.Channel;
 import com.bitactor.framework.core.net.api.transport.AbstractClient;
 import com.bitactor.framework.core.logger.LoggerFactory;
 import com.bitactor.framework.core.rpc.api.RPCResponse;
@@ -36,11 +37,13 @@ import com.bitactor.framework.core.rpc.api.filter.Filter;
 import com.bitactor.framework.core.rpc.api.proxy.JavassistProxyFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author WXH
@@ -55,6 +58,11 @@ public abstract class AbstractBound implements Bound {
     protected RouterAdapter routerAdapter = new PollingRouterAdapter();
     private List<Filter> filters = new ArrayList<Filter>();
     private final String appGroup;
+    /**
+     * 连接状态或提供者变化的版本，变化后路由快照在下次路由时重建
+     */
+    private final AtomicLong routingVersion = new AtomicLong();
+    private volatile RoutingSnapshot routingSnapshot = new RoutingSnapshot(-1, Collections.<AbstractClient>emptyList());
 
     public AbstractBound(String appGroup) {
         this.appGroup = appGroup;
@@ -159,18 +167,68 @@ public abstract class AbstractBound implements Bound {
     }
 
     /**
-     * 获取连接正常的client的list
+     * 获取连接正常的client的list，每个提供者一个元素，其通道在调用时从提供者的可用连接中轮询选取；
+     * 列表来自路由快照，仅在连接状态或提供者变化后重建，返回的列表不可修改
      *
      * @return
      */
     protected List<AbstractClient> getActivityClients() {
-        List<AbstractClient> activityClients = new ArrayList<AbstractClient>();
+        return routingSnapshot().clients;
+    }
+
+    /**
+     * 连接激活、断开或提供者加入、离开时调用，使路由快照失效
+     */
+    protected void invalidateRouting() {
+        routingVersion.incrementAndGet();
+    }
+
+    protected void putClients(String groupAndId, ModeClients modeClients) {
+        clients.put(groupAndId, modeClients);
+        invalidateRouting();
+    }
+
+    protected ModeClients removeClients(String groupAndId) {
+        ModeClients modeClients = clients.remove(groupAndId);
+        invalidateRouting();
+        return modeClients;
+    }
+
+    private RoutingSnapshot routingSnapshot() {
+        RoutingSnapshot snapshot = routingSnapshot;
+        long version = routingVersion.get();
+        if (snapshot.version == version) {
+            return snapshot;
+        }
+        // 先读版本再读连接状态，重建期间发生的变化会使版本再次变化，下次路由时重新构建
+        List<AbstractClient> providers = new ArrayList<AbstractClient>();
         for (ModeClients client : clients.values()) {
             if (client.isActive()) {
-                activityClients.add(client.getClient());
+                providers.add(client.getRoutingClient());
             }
         }
-        return activityClients;
+        snapshot = new RoutingSnapshot(version, Collections.unmodifiableList(providers));
+        routingSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * 在候选提供者中路由，请求携带路由键时在选中的提供者内取路由键对应的固定连接
+     *
+     * @param activityClients 候选提供者，来自 {@link #getActivityClients()}
+     * @param request
+     * @return 没有可用提供者时返回 null
+     */
+    protected Channel route(List<AbstractClient> activityClients, RPCRequest request) {
+        Channel channel = routerAdapter.routerAdapter(activityClients, request);
+        Object routeKey = request.getRouteKey();
+        if (channel == null || routeKey == null) {
+            return channel;
+        }
+        ModeClients provider = clients.get(channel.getUrl().getGroupAndId());
+        AbstractClient keyClient = provider == null ? null : provider.getClient(routeKey);
+        Channel keyChannel = keyClient == null ? null : keyClient.getChannel();
+        return keyChannel == null ? channel : keyChannel;
     }
 
     /**
@@ -207,7 +265,7 @@ public abstract class AbstractBound implements Bound {
      * @param groupAndId
      */
     public boolean closeClient(String groupAndId) {
-        ModeClients client = clients.remove(groupAndId);
+        ModeClients client = removeClients(groupAndId);
         if (client == null) {
             return false;
         }
@@ -220,5 +278,18 @@ public abstract class AbstractBound implements Bound {
 
     public abstract boolean hasActivityChannel();
 
+    /**
+     * 路由快照，每个可用提供者一个 {@link ProviderClient}，创建后不再修改
+     */
+    private static final class RoutingSnapshot {
+        private final long version;
+        private final List<AbstractClient> clients;
+
+        RoutingSnapshot(long version, List<AbstractClient> clients) {
+            this.version = version;
+            this.clients = clients;
+        }
+    }
+
     public abstract void shutdown();
 }
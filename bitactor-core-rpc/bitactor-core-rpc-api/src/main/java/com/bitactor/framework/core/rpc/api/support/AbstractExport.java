@@ -36,6 +36,14 @@ public abstract class AbstractExport implements Export {
 
     private JavassistProxyFactory proxyFactory = new JavassistProxyFactory();
     protected UrlProperties url;
+    /**
+     * 导出接口的方法id字典，握手时下发给消费者
+     */
+    protected final MethodDictionary methodDictionary = new MethodDictionary();
+    /**
+     * 导出接口的方法分发表，请求处理时直接查表调用
+     */
+    protected final MethodDispatchTable dispatchTable = new MethodDispatchTable();
 
     @Override
     public UrlProperties getUrl() {
@@ -143,6 +151,8 @@ public abstract class AbstractExport implements Export {
     private void BoundInvokerAndKey(Class<?>[] interfaces, String keys, Invoker invoker) {
         for (Class<?> api : interfaces) {
             VMCache.getInstance().getMatchKeys().put(api.getName(), keys);
+            methodDictionary.register(api);
+            dispatchTable.register(api, invoker, methodDictionary);
         }
         VMCache.getInstance().getServices().put(keys, invoker);
         this.url = url.setServiceInterface(CollectionUtils.getKeys(VMCache.getInstance().getMatchKeys()));
@@ -174,6 +184,14 @@ public abstract class AbstractExport implements Export {
         VMCache.getInstance().Bound(this.url);
     }
 
+    public MethodDictionary getMethodDictionary() {
+        return methodDictionary;
+    }
+
+    public MethodDispatchTable getDispatchTable() {
+        return dispatchTable;
+    }
+
     protected Invoker getInvoker(String apiId) {
         return VMCache.getInstance().getInvoker(apiId);
     }
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.api.support;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.TypeReference;
+import com.bitactor.framework.core.utils.lang.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 方法id字典，提供者为每个导出接口的方法分配数字id，并在握手时下发给消费者；
+ * 消费者调用时只需发送方法id，无需再发送接口名、方法名和参数类型
+ *
+ * @author WXH
+ */
+public class MethodDictionary {
+    /**
+     * 未分配的方法id
+     */
+    public static final int NONE_ID = 0;
+
+    private final AtomicInteger idGenerator = new AtomicInteger(NONE_ID);
+    /**
+     * 方法签名 -> 方法id
+     */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    public MethodDictionary() {
+    }
+
+    /**
+     * 注册接口的全部方法（提供者使用）
+     *
+     * @param api 导出的接口
+     */
+    public void register(Class<?> api) {
+        Method[] methods = api.getMethods();
+        // 按签名排序，保证同一份接口每次分配的顺序一致
+        Arrays.sort(methods, Comparator.comparing(method -> signature(api.getName(), method.getName(), method.getParameterTypes())));
+        for (Method method : methods) {
+            String signature = signature(api.getName(), method.getName(), method.getParameterTypes());
+            if (ids.containsKey(signature)) {
+                continue;
+            }
+            int id = idGenerator.incrementAndGet();
+            ids.put(signature, id);
+        }
+    }
+
+    /**
+     * 获取方法id
+     *
+     * @param signature 方法签名
+     * @return 未找到时返回 {@link #NONE_ID}
+     */
+    public int getId(String signature) {
+        if (signature == null) {
+            return NONE_ID;
+        }
+        Integer id = ids.get(signature);
+        return id == null ? NONE_ID : id;
+    }
+
+    public boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    /**
+     * 转换为握手数据中下发的字符串
+     *
+     * @return
+     */
+    public String toHandShakeStr() {
+        return JSON.toJSONString(new HashMap<>(ids));
+    }
+
+    /**
+     * 解析握手数据中下发的方法id字典（消费者使用）
+     *
+     * @param str
+     * @return 无效数据返回 null
+     */
+    public static MethodDictionary parse(String str) {
+        if (StringUtils.isEmpty(str)) {
+            return null;
+        }
+        Map<String, Integer> map = JSON.parseObject(str, new TypeReference<Map<String, Integer>>() {
+        });
+        if (map == null || map.isEmpty()) {
+            return null;
+        }
+        MethodDictionary dictionary = new MethodDictionary();
+        dictionary.ids.putAll(map);
+        return dictionary;
+    }
+
+    /**
+     * 构建方法签名 apiId#methodName(type1,type2)
+     *
+     * @param apiId
+     * @param methodName
+     * @param parameterTypes
+     * @return
+     */
+    public static String signature(String apiId, String methodName, Class<?>[] parameterTypes) {
+        StringBuilder builder = new StringBuilder(apiId).append('#').append(methodName).append('(');
+        if (parameterTypes != null) {
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(parameterTypes[i].getName());
+            }
+        }
+        return builder.append(')').toString();
+    }
+
+    @Override
+    public String toString() {
+        return "MethodDictionary{" +
+                "ids=" + ids +
+                '}';
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.api.support;
+
+import com.bitactor.framework.core.rpc.api.annotation.Async;
+import com.bitactor.framework.core.rpc.api.annotation.Broadcast;
+import com.bitactor.framework.core.rpc.api.annotation.DispatchKey;
+import com.bitactor.framework.core.rpc.api.annotation.Dispatcher;
+import com.bitactor.framework.core.rpc.api.annotation.NoWaitReturn;
+import com.bitactor.framework.core.rpc.api.annotation.Priority;
+import com.bitactor.framework.core.rpc.api.invoker.AbstractProxyInvoker;
+import com.bitactor.framework.core.rpc.api.invoker.Invoker;
+import com.bitactor.framework.core.rpc.api.invoker.MethodInvoker;
+import com.bitactor.framework.core.rpc.api.invoker.RPCInvocation;
+import com.bitactor.framework.core.rpc.api.type.PriorityType;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 提供者方法分发项，导出服务时预先解析好方法、调用器及注解标记，请求处理时无需再反射
+ *
+ * @author WXH
+ */
+public class MethodDispatch {
+    /**
+     * 握手时协商的方法id
+     */
+    private final int id;
+    private final String apiId;
+    private final String signature;
+    private final Method method;
+    private final Invoker<?> invoker;
+    /**
+     * 绑定到当前方法的调用器
+     */
+    private final MethodInvoker methodInvoker;
+    /**
+     * 是否需要返回响应（未标注 {@link NoWaitReturn} 和 {@link Broadcast}）
+     */
+    private final boolean needReturn;
+    /**
+     * 是否异步方法（标注 {@link Async}）
+     */
+    private final boolean async;
+    /**
+     * 返回值是否为 {@link CompletableFuture}/{@link CompletionStage}
+     */
+    private final boolean futureReturn;
+    /**
+     * 随响应带回的参数下标
+     */
+    private final int[] writeBackIndexes;
+    /**
+     * 分发方式（{@link Dispatcher}），未标注时为 null
+     */
+    private final String dispatcher;
+    /**
+     * {@link DispatchKey} 参数下标，未标注时为 -1
+     */
+    private final int dispatchKeyIndex;
+    /**
+     * 调用优先级（{@link Priority}），未标注时为 {@link PriorityType#NORMAL}
+     */
+    private final PriorityType priority;
+
+    public MethodDispatch(int id, String apiId, Method method, Invoker<?> invoker) {
+        this.id = id;
+        this.apiId = apiId;
+        this.signature = MethodDictionary.signature(apiId, method.getName(), method.getParameterTypes());
+        this.method = method;
+        this.invoker = invoker;
+        this.methodInvoker = buildMethodInvoker(method, invoker);
+        this.needReturn = method.getAnnotation(NoWaitReturn.class) == null && method.getAnnotation(Broadcast.class) == null;
+        this.async = method.getAnnotation(Async.class) != null;
+        this.futureReturn = isFutureReturn(method);
+        this.writeBackIndexes = WriteBackUtils.resolveIndexes(method);
+        this.dispatcher = resolveDispatcher(method);
+        this.dispatchKeyIndex = resolveDispatchKeyIndex(method);
+        this.priority = resolvePriority(method);
+    }
+
+    private static PriorityType resolvePriority(Method method) {
+        Priority priority = method.getAnnotation(Priority.class);
+        if (priority == null) {
+            priority = method.getDeclaringClass().getAnnotation(Priority.class);
+        }
+        return priority == null ? PriorityType.NORMAL : priority.value();
+    }
+
+    private static String resolveDispatcher(Method method) {
+        Dispatcher dispatcher = method.getAnnotation(Dispatcher.class);
+        if (dispatcher == null) {
+            dispatcher = method.getDeclaringClass().getAnnotation(Dispatcher.class);
+        }
+        return dispatcher == null ? null : dispatcher.value();
+    }
+
+    private static int resolveDispatchKeyIndex(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof DispatchKey) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 方法是否以 {@link CompletableFuture}/{@link CompletionStage} 作为返回值，
+     * 消费者代理直接返回请求对应的future，提供者在future完成后再返回响应
+     *
+     * @param method
+     * @return
+     */
+    public static boolean isFutureReturn(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return returnType == CompletableFuture.class || returnType == CompletionStage.class;
+    }
+
+    private static MethodInvoker buildMethodInvoker(Method method, Invoker<?> invoker) {
+        if (invoker instanceof AbstractProxyInvoker) {
+            return ((AbstractProxyInvoker<?>) invoker).getMethodInvoker(method.getName(), method.getParameterTypes());
+        }
+        final String methodName = method.getName();
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        return arguments -> {
+            RPCInvocation invocation = new RPCInvocation();
+            invocation.setMethodName(methodName);
+            invocation.setParameterTypes(parameterTypes);
+            invocation.setArguments(arguments);
+            return invoker.invoke(invocation);
+        };
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getApiId() {
+        return apiId;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Invoker<?> getInvoker() {
+        return invoker;
+    }
+
+    public MethodInvoker getMethodInvoker() {
+        return methodInvoker;
+    }
+
+    public boolean isNeedReturn() {
+        return needReturn;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public boolean isFutureReturn() {
+        return futureReturn;
+    }
+
+    public int[] getWriteBackIndexes() {
+        return writeBackIndexes;
+    }
+
+    public String getDispatcher() {
+        return dispatcher;
+    }
+
+    public int getDispatchKeyIndex() {
+        return dispatchKeyIndex;
+    }
+
+    public PriorityType getPriority() {
+        return priority;
+    }
+
+    /**
+     * 从参数中取出分发键
+     *
+     * @param arguments
+     * @return 未标注 {@link DispatchKey} 或参数为 null 时返回 null
+     */
+    public Object getDispatchKey(Object[] arguments) {
+        if (dispatchKeyIndex < 0 || arguments == null || dispatchKeyIndex >= arguments.length) {
+            return null;
+        }
+        return arguments[dispatchKeyIndex];
+    }
+
+    @Override
+    public String toString() {
+        return "MethodDispatch{" +
+                "id=" + id +
+                ", signature='" + signature + '\'' +
+                ", needReturn=" + needReturn +
+                ", async=" + async +
+                ", futureReturn=" + futureReturn +
+                ", dispatcher='" + dispatcher + '\'' +
+                ", priority=" + priority +
+                '}';
+    }
+}
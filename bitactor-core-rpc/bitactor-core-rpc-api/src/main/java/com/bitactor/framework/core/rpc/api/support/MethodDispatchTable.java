@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.api.support;
+
+import com.bitactor.framework.core.rpc.api.invoker.Invoker;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 提供者方法分发表，在 addService/addServiceBean 时构建，
+ * 按方法签名 (apiId, 方法名, 参数类型) 和方法id两种方式查找
+ *
+ * @author WXH
+ */
+public class MethodDispatchTable {
+    /**
+     * 方法签名 -> 分发项
+     */
+    private final Map<String, MethodDispatch> signatures = new ConcurrentHashMap<>();
+    /**
+     * 方法id -> 分发项，下标即方法id；写时复制，发布后不再修改
+     */
+    private volatile MethodDispatch[] ids = new MethodDispatch[16];
+
+    /**
+     * 注册接口的全部方法
+     *
+     * @param api        导出的接口
+     * @param invoker    接口的调用器
+     * @param dictionary 方法id字典，接口需已注册
+     */
+    public synchronized void register(Class<?> api, Invoker<?> invoker, MethodDictionary dictionary) {
+        // 已发布的数组不再修改，复制后写入再整体发布，查找方通过 volatile 读取总能看到完整的数组
+        MethodDispatch[] array = Arrays.copyOf(ids, ids.length);
+        for (Method method : api.getMethods()) {
+            String signature = MethodDictionary.signature(api.getName(), method.getName(), method.getParameterTypes());
+            MethodDispatch dispatch = new MethodDispatch(dictionary.getId(signature), api.getName(), method, invoker);
+            signatures.put(signature, dispatch);
+            if (dispatch.getId() != MethodDictionary.NONE_ID) {
+                if (dispatch.getId() >= array.length) {
+                    array = Arrays.copyOf(array, Math.max(array.length << 1, dispatch.getId() + 1));
+                }
+                array[dispatch.getId()] = dispatch;
+            }
+        }
+        ids = array;
+    }
+
+    /**
+     * 根据方法id查找
+     *
+     * @param id
+     * @return
+     */
+    public MethodDispatch get(int id) {
+        MethodDispatch[] array = ids;
+        if (id <= MethodDictionary.NONE_ID || id >= array.length) {
+            return null;
+        }
+        return array[id];
+    }
+
+    /**
+     * 根据方法签名查找
+     *
+     * @param apiId
+     * @param methodName
+     * @param parameterTypes
+     * @return
+     */
+    public MethodDispatch get(String apiId, String methodName, Class<?>[] parameterTypes) {
+        if (apiId == null || methodName == null) {
+            return null;
+        }
+        return signatures.get(MethodDictionary.signature(apiId, methodName, parameterTypes));
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+}
@@ -40,9 +40,11 @@ public class ModeClients {
     private List<AbstractClient> clients;
     private CycleAtomicInteger lastIndex = new CycleAtomicInteger();
     private UrlProperties url;
+    private final ProviderClient routingClient;
 
     public ModeClients(UrlProperties url, clientBuilder builder) {
         this.url = url;
+        this.routingClient = new ProviderClient(this);
         int channelSize = Math.max(0, Math.min(this.url.getParameter(RPCConstants.CONSUMERS_CHANNEL_SIZE_KEY, RPCConstants.DEFAULT_CONSUMERS_CHANNEL_SIZE), CommonConstants.RUN_THREADS));
         clients = new ArrayList<>(channelSize);
         for (int i = 0; i < channelSize; i++) {
@@ -84,13 +86,21 @@ public class ModeClients {
         logger.info("Remove ModeClients size:{},url:{}", clients.size(), url.getGroupAndId());
     }
 
+    /**
+     * 路由快照中代表该提供者的客户端，获取通道时在可用连接中轮询
+     *
+     * @return
+     */
+    AbstractClient getRoutingClient() {
+        return routingClient;
+    }
+
     public Channel getChannel() {
         return Optional.of(getClient()).orElse(null).getChannel();
     }
 
     public AbstractClient getClient() {
         try {
-            lastIndex.next(clients.size());
             if (CollectionUtils.isEmpty(clients)) {
                 return null;
             }
@@ -102,6 +112,59 @@ public class ModeClients {
         return null;
     }
 
+    /**
+     * 轮询选择一个可用连接，轮到的连接不可用时顺延到下一个可用连接
+     *
+     * @return 没有可用连接时返回 null
+     */
+    public AbstractClient getActiveClient() {
+        try {
+            List<AbstractClient> list = this.clients;
+            int size = list.size();
+            if (size == 0) {
+                return null;
+            }
+            int start = lastIndex.next(size);
+            for (int i = 0; i < size; i++) {
+                AbstractClient client = list.get((start + i) % size);
+                if (client.isActive()) {
+                    return client;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // 连接关闭时列表被清空，视为没有可用连接
+            logger.debug("ModeClients closed while routing, url:{}", url.getGroupAndId());
+        }
+        return null;
+    }
+
+    /**
+     * 按路由键选择固定的连接，同一路由键总是落在同一连接上，该连接不可用时顺延到下一个可用连接
+     *
+     * @param routeKey
+     * @return 没有可用连接时返回 null
+     */
+    public AbstractClient getClient(Object routeKey) {
+        try {
+            List<AbstractClient> list = this.clients;
+            int size = list.size();
+            if (size == 0) {
+                return null;
+            }
+            int start = (routeKey.hashCode() & Integer.MAX_VALUE) % size;
+            for (int i = 0; i < size; i++) {
+                AbstractClient client = list.get((start + i) % size);
+                if (client.isActive()) {
+                    return client;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // 连接关闭时列表被清空，视为没有可用连接
+            logger.debug("ModeClients closed while routing, url:{}", url.getGroupAndId());
+        }
+        return null;
+    }
+
     @FunctionalInterface
     public interface clientBuilder {
         AbstractClient build() throws Throwable;
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.api.support;
+
+import com.bitactor.framework.core.rpc.api.annotation.WriteBack;
+import com.bitactor.framework.core.rpc.api.async.AsyncResult;
+import com.bitactor.framework.core.utils.lang.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * 参数回写工具，计算方法响应需要带回的参数下标
+ *
+ * @author WXH
+ */
+public class WriteBackUtils {
+    public static final int[] EMPTY_INDEXES = new int[0];
+
+    /**
+     * 解析需要随响应带回的参数下标（升序）
+     * 异步回调参数总是带回，其余参数仅在方法标注 {@link WriteBack} 时带回
+     *
+     * @param method
+     * @return
+     */
+    public static int[] resolveIndexes(Method method) {
+        if (method == null) {
+            return EMPTY_INDEXES;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        boolean[] marks = new boolean[parameterTypes.length];
+        WriteBack writeBack = method.getAnnotation(WriteBack.class);
+        if (writeBack != null) {
+            if (writeBack.value().length == 0) {
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    marks[i] = !ClassUtils.isPrimitive(parameterTypes[i]) && !parameterTypes[i].isEnum();
+                }
+            } else {
+                for (int index : writeBack.value()) {
+                    if (index >= 0 && index < parameterTypes.length) {
+                        marks[index] = true;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (AsyncResult.class.isAssignableFrom(parameterTypes[i])) {
+                marks[i] = true;
+            }
+        }
+        int[] indexes = new int[parameterTypes.length];
+        int size = 0;
+        for (int i = 0; i < marks.length; i++) {
+            if (marks[i]) {
+                indexes[size++] = i;
+            }
+        }
+        return size == 0 ? EMPTY_INDEXES : Arrays.copyOf(indexes, size);
+    }
+}
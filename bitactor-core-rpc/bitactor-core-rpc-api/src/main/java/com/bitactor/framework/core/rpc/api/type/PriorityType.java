@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.api.type;
+
+/**
+ * 调用优先级，提供者过载时按优先级丢弃请求
+ *
+ * @author WXH
+ */
+public enum PriorityType {
+    /**
+     * 过载时最先丢弃，未过载时排队超过一个统计区间也丢弃
+     */
+    LOW,
+    /**
+     * 过载时排队延迟超过目标延迟即丢弃，未过载时只丢弃排队超过消费者超时时间的请求
+     */
+    NORMAL,
+    /**
+     * 不丢弃
+     */
+    HIGH
+}
@@ -22,7 +22,9 @@ package com.bitactor.framework.core.rpc.api.type;
 public enum ResponseType {
     OK(1, "OK"),
     TIMEOUT(2, "TIMEOUT"),
-    EXCEPTION(3, "EXCEPTION");
+    EXCEPTION(3, "EXCEPTION"),
+    // 提供者过载，请求未执行
+    OVERLOAD(4, "OVERLOAD");
 
     private int intV;
     private String strV;
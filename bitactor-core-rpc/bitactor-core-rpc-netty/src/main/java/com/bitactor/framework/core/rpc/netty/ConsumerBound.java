@@ -22,34 +22,47 @@ import com.bitactor.framework.core.config.UrlProperties;
 import com.bitactor.framework.core.exception.IllegalityRPCException;
 import com.bitactor.framework.core.exception.NoMatchApiException;
 import com.bitactor.framework.core.exception.NoMatchServerException;
+import com.bitactor.framework.core.exception.RpcException;
 import com.bitactor.framework.core.logger.Logger;
 import com.bitactor.framework.core.logger.LoggerFactory;
 import com.bitactor.framework.core.net.api.Channel;
 import com.bitactor.framework.core.net.api.ChannelContext;
 import com.bitactor.framework.core.net.api.transport.AbstractClient;
 import com.bitactor.framework.core.net.api.transport.message.MessageWrapper;
-import com.bitactor.framework.core.net.netty.channel.NettyChannel;
 import com.bitactor.framework.core.net.netty.channel.NettyChannelContext;
 import com.bitactor.framework.core.net.netty.client.NettyModeClient;
 import com.bitactor.framework.core.rpc.api.RPCRequest;
 import com.bitactor.framework.core.rpc.api.RPCResponse;
+import com.bitactor.framework.core.rpc.api.RPCResult;
 import com.bitactor.framework.core.rpc.api.annotation.Broadcast;
+import com.bitactor.framework.core.rpc.api.annotation.Idempotent;
 import com.bitactor.framework.core.rpc.api.annotation.NoWaitReturn;
+import com.bitactor.framework.core.rpc.api.annotation.RouteKey;
 import com.bitactor.framework.core.rpc.api.cache.VMCache;
 import com.bitactor.framework.core.rpc.api.invoker.AbstractInvokerHandler;
 import com.bitactor.framework.core.rpc.api.invoker.RPCInvocation;
 import com.bitactor.framework.core.rpc.api.support.AbstractBound;
+import com.bitactor.framework.core.rpc.api.support.MethodDictionary;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatch;
 import com.bitactor.framework.core.rpc.api.support.ModeClients;
 import com.bitactor.framework.core.rpc.netty.codec.MessageRPCResponse;
+import com.bitactor.framework.core.rpc.netty.consumer.ConsumerChannel;
 import com.bitactor.framework.core.rpc.netty.consumer.ConsumerListener;
 import com.bitactor.framework.core.rpc.netty.future.RPCSender;
 import com.bitactor.framework.core.rpc.netty.future.RequestRPCFuture;
 import com.bitactor.framework.core.utils.collection.CollectionUtils;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -61,6 +74,14 @@ public abstract class ConsumerBound extends AbstractBound {
 
     private final Lock getAllServerLock = new ReentrantLock();
     private final Lock getAssignServerLock = new ReentrantLock();
+    /**
+     * 代理方法 -> 方法签名
+     */
+    private final Map<Method, String> signatures = new ConcurrentHashMap<>();
+    /**
+     * 代理方法 -> {@link RouteKey} 参数下标，未标注时为 -1
+     */
+    private final Map<Method, Integer> routeKeyIndexes = new ConcurrentHashMap<>();
 
     public ConsumerBound(String serverName) {
         super(serverName);
@@ -76,7 +97,7 @@ public abstract class ConsumerBound extends AbstractBound {
             ModeClients modeClients = new ModeClients(url, () -> {
                 return new NettyModeClient(new ConsumerListener(this), url);
             });
-            clients.put(url.getGroupAndId(), modeClients);
+            putClients(url.getGroupAndId(), modeClients);
         }
         apiNames.addAll(url.getServiceInterface());
         return true;
@@ -158,6 +179,7 @@ public abstract class ConsumerBound extends AbstractBound {
                         Method originalMethod = getInterface().getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
                         RPCInvocation invocation = new RPCInvocation(originalMethod, args);
                         RPCRequest request = new RPCRequest(getInterface().getName(), getAppGroup(), invocation);
+                        request.setSignature(signature(getInterface(), thisMethod));
                         Object result = null;
                         if (originalMethod.getAnnotation(Broadcast.class) != null) {
                             result = invokeBroadcast(self, thisMethod, proceed, args, invocation, request);
@@ -166,8 +188,9 @@ public abstract class ConsumerBound extends AbstractBound {
                                 //本地调用
                                 result = invokeLocal(getInterface(), invocation.getLocalInvocation());
                             } else {
-                                Channel channel = routerAdapter.routerAdapter(getActivityClients(), request);
-                                result = invokeRPC(self, proceed, originalMethod, request, channel);
+                                request.setRouteKey(routeKey(originalMethod, args));
+                                Channel channel = route(getActivityClients(), request);
+                                result = invokeRPC(self, proceed, originalMethod, request, channel, true);
                             }
                         }
                         return result;
@@ -204,6 +227,7 @@ public abstract class ConsumerBound extends AbstractBound {
                         Method originalMethod = getInterface().getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
                         RPCInvocation invocation = new RPCInvocation(originalMethod, args);
                         RPCRequest request = new RPCRequest(getInterface().getName(), getAppGroup(), invocation);
+                        request.setSignature(signature(getInterface(), thisMethod));
                         Object result = null;
                         // 如果指定服务时本地服务则本地调用
                         if (VMCache.getInstance().isLocalServerTypeId(getTempStr())) {
@@ -212,7 +236,7 @@ public abstract class ConsumerBound extends AbstractBound {
                         } else {
                             //远程调用
                             Channel channel = clients.get(getTempStr()).getChannel();
-                            result = invokeRPC(self, proceed, originalMethod, request, channel);
+                            result = invokeRPC(self, proceed, originalMethod, request, channel, false);
                         }
                         return result;
                     }
@@ -225,7 +249,63 @@ public abstract class ConsumerBound extends AbstractBound {
     }
 
 
-    private Object invokeRPC(Object self, Method proceed, Method originalMethod, RPCRequest request, Channel channel) throws Throwable {
+    /**
+     * 获取方法签名，用于查找握手时协商的方法id
+     *
+     * @param api
+     * @param method 代理方法
+     * @return
+     */
+    private String signature(Class<?> api, Method method) {
+        String signature = signatures.get(method);
+        if (signature == null) {
+            signature = MethodDictionary.signature(api.getName(), method.getName(), method.getParameterTypes());
+            signatures.put(method, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * 获取 {@link RouteKey} 参数的值
+     *
+     * @param method 接口方法
+     * @param args
+     * @return 未标注时返回 null
+     */
+    private Object routeKey(Method method, Object[] args) {
+        Integer index = routeKeyIndexes.get(method);
+        if (index == null) {
+            index = -1;
+            Annotation[][] annotations = method.getParameterAnnotations();
+            for (int i = 0; i < annotations.length && index < 0; i++) {
+                for (Annotation annotation : annotations[i]) {
+                    if (annotation instanceof RouteKey) {
+                        index = i;
+                        break;
+                    }
+                }
+            }
+            routeKeyIndexes.put(method, index);
+        }
+        if (index < 0 || args == null || index >= args.length) {
+            return null;
+        }
+        return args[index];
+    }
+
+    /**
+     * 远程调用
+     *
+     * @param self
+     * @param proceed
+     * @param originalMethod
+     * @param request
+     * @param channel
+     * @param reroute        是否允许 {@link Idempotent} 方法在连接断开时重试到其他提供者
+     * @return
+     * @throws Throwable
+     */
+    private Object invokeRPC(Object self, Method proceed, Method originalMethod, RPCRequest request, Channel channel, boolean reroute) throws Throwable {
         Object result = null;
         //远程调用
         doFilterBefore(request);
@@ -235,6 +315,9 @@ public abstract class ConsumerBound extends AbstractBound {
             RPCSender.send(channel, request);
             //调用本地代理方法，让其返回默认的返回值
             result = proceed.invoke(self, request.getInvocation().getArguments());
+        } else if (MethodDispatch.isFutureReturn(originalMethod)) {
+            //不等待响应，直接返回映射为调用结果的future
+            result = invokeFuture(request, channel);
         } else if (request.getInvocation().isAsync()) {
             //不等待响应
             RequestRPCFuture<RPCResponse> future = RPCSender.async(channel, request);
@@ -252,31 +335,111 @@ public abstract class ConsumerBound extends AbstractBound {
             result = proceed.invoke(self, request.getInvocation().getArguments());
         } else {
             //等待响应
-            response = RPCSender.sync(channel, request);
+            response = invokeSync(originalMethod, request, channel, reroute);
             result = response.getResult().getValue();
             doFilterAfter(request, response);
         }
         return result;
     }
 
+    /**
+     * 返回值为 {@link CompletableFuture}/{@link CompletionStage} 的调用，
+     * 响应在回调线程上完成返回的future，调用方线程不阻塞
+     *
+     * @param request
+     * @param channel
+     * @return
+     */
+    private CompletableFuture<Object> invokeFuture(RPCRequest request, Channel channel) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        RequestRPCFuture<RPCResponse> future = RPCSender.async(channel, request);
+        future.whenComplete((response, cause) -> {
+            if (Objects.nonNull(cause)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            try {
+                doFilterAfter(request, response);
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+            RPCResult rpcResult = response.getResult();
+            if (rpcResult == null) {
+                result.complete(null);
+            } else if (rpcResult.hasException()) {
+                result.completeExceptionally(rpcResult.getException());
+            } else {
+                result.complete(rpcResult.getValue());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 同步调用，{@link Idempotent} 方法因连接断开失败时重试一次到其他提供者；
+     * 因限流未发出或因提供者过载未执行的请求可安全重试，不要求 {@link Idempotent}
+     *
+     * @param originalMethod
+     * @param request
+     * @param channel
+     * @param reroute
+     * @return
+     * @throws Exception
+     */
+    private RPCResponse invokeSync(Method originalMethod, RPCRequest request, Channel channel, boolean reroute) throws Exception {
+        try {
+            return RPCSender.sync(channel, request);
+        } catch (ExecutionException e) {
+            boolean limited = isLimited(e.getCause());
+            if (!reroute || (!limited && (originalMethod.getAnnotation(Idempotent.class) == null || !isNetworkFailure(e.getCause())))) {
+                throw e;
+            }
+            List<AbstractClient> others = new ArrayList<>();
+            String provider = channel.getUrl().getGroupAndId();
+            for (AbstractClient client : getActivityClients()) {
+                if (!provider.equals(client.getUrl().getGroupAndId())) {
+                    others.add(client);
+                }
+            }
+            Channel other = route(others, request);
+            if (other == null) {
+                throw e;
+            }
+            logger.warn("retry " + (limited ? "limited" : "idempotent") + " rpc request to: " + other.getRemoteAddress() + " cause by: " + e.getCause().getMessage());
+            // 首次发送的请求可能仍在原连接的发送队列中，重试使用副本，避免修改其请求id
+            return RPCSender.sync(other, request.copy());
+        }
+    }
+
+    private boolean isNetworkFailure(Throwable cause) {
+        return cause instanceof RpcException && ((RpcException) cause).isNetwork();
+    }
+
+    private boolean isLimited(Throwable cause) {
+        return cause instanceof RpcException && (((RpcException) cause).isLimit() || ((RpcException) cause).isOverload());
+    }
+
     @Override
     public Channel buildChannel(ChannelContext channelContext) {
-        return new NettyChannel((NettyChannelContext) channelContext) {
+        return new ConsumerChannel((NettyChannelContext) channelContext) {
             @Override
             public void onReceived(MessageWrapper message) {
                 if (message instanceof MessageRPCResponse) {
-                    RPCSender.received(((MessageRPCResponse) message).getResponse(), this);
+                    RPCSender.received((MessageRPCResponse) message, this);
                 }
             }
 
             @Override
             public void onActivity() {
-
+                invalidateRouting();
             }
 
             @Override
             public void onDestroy() {
-                ModeClients client = clients.remove(getUrl().getGroupAndId());
+                // 立即失败当前连接上等待响应的请求，避免调用方等待至超时
+                RPCSender.failPending(this);
+                ModeClients client = removeClients(getUrl().getGroupAndId());
                 if (client != null && client.isActive()) {
                     logger.warn("will close channel by groupAndId : " + getUrl().getGroupAndId());
                     client.close();
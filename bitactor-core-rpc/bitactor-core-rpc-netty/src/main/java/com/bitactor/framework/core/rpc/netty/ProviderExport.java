@@ -18,12 +18,16 @@
 package com.bitactor.framework.core.rpc.netty;
 
 
-import com.bitactor.framework.core.exception.NotSupportException;
+import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.constant.RPCConstants;
+import com.bitactor.framework.core.exception.NoMatchApiException;
 import com.bitactor.framework.core.exception.RpcException;
 import com.bitactor.framework.core.logger.Logger;
 import com.bitactor.framework.core.logger.LoggerFactory;
 import com.bitactor.framework.core.net.api.Channel;
 import com.bitactor.framework.core.net.api.ChannelContext;
+import com.bitactor.framework.core.net.api.HandShakeDataBound;
+import com.bitactor.framework.core.net.api.transport.HandShakeData;
 import com.bitactor.framework.core.net.api.transport.AbstractServer;
 import com.bitactor.framework.core.net.api.transport.message.MessageWrapper;
 import com.bitactor.framework.core.net.netty.channel.NettyChannel;
@@ -32,30 +36,43 @@ import com.bitactor.framework.core.net.netty.server.NettyModeServer;
 import com.bitactor.framework.core.rpc.api.RPCRequest;
 import com.bitactor.framework.core.rpc.api.RPCResponse;
 import com.bitactor.framework.core.rpc.api.RPCResult;
-import com.bitactor.framework.core.rpc.api.annotation.Broadcast;
-import com.bitactor.framework.core.rpc.api.annotation.NoWaitReturn;
+import com.bitactor.framework.core.rpc.api.annotation.WriteBack;
 import com.bitactor.framework.core.rpc.api.async.AsyncResultImpl;
 import com.bitactor.framework.core.rpc.api.invoker.Invocation;
-import com.bitactor.framework.core.rpc.api.invoker.Invoker;
+import com.bitactor.framework.core.rpc.api.invoker.RPCInvocation;
 import com.bitactor.framework.core.rpc.api.support.AbstractExport;
+import com.bitactor.framework.core.rpc.api.support.MethodDictionary;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatch;
+import com.bitactor.framework.core.rpc.api.type.ResponseType;
 import com.bitactor.framework.core.rpc.netty.codec.MessageRPCRequest;
 import com.bitactor.framework.core.rpc.netty.codec.MessageRPCResponse;
+import com.bitactor.framework.core.rpc.netty.dispatcher.DispatchStats;
+import com.bitactor.framework.core.rpc.netty.dispatcher.RequestDispatcher;
+import com.bitactor.framework.core.rpc.netty.dispatcher.RequestDispatchers;
 import com.bitactor.framework.core.rpc.netty.provider.ProviderListener;
 import com.bitactor.framework.core.utils.collection.CollectionUtils;
+import com.bitactor.framework.core.utils.lang.StringUtils;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author WXH
  */
-public class ProviderExport extends AbstractExport {
+public class ProviderExport extends AbstractExport implements HandShakeDataBound {
     private static final Logger logger = LoggerFactory.getLogger(ProviderExport.class);
     private AbstractServer server;
+    /**
+     * 请求分发器，决定调用在哪个线程上执行
+     */
+    private RequestDispatchers dispatchers;
 
     public ProviderExport() {
     }
@@ -76,6 +93,7 @@ public class ProviderExport extends AbstractExport {
         if (!checkCanExport()) {
             return;
         }
+        this.dispatchers = new RequestDispatchers(url);
         this.server = new NettyModeServer(new ProviderListener(this), url);
         this.server.threadStart().sync();
     }
@@ -85,6 +103,18 @@ public class ProviderExport extends AbstractExport {
         if (server != null) {
             this.server.close();
         }
+        if (dispatchers != null) {
+            dispatchers.shutdown();
+        }
+    }
+
+    /**
+     * 各分发方式的排队延迟统计
+     *
+     * @return
+     */
+    public Map<String, DispatchStats> getDispatchStats() {
+        return dispatchers == null ? Collections.emptyMap() : dispatchers.stats();
     }
 
     @Override
@@ -99,62 +129,240 @@ public class ProviderExport extends AbstractExport {
             @Override
             public void onReceived(MessageWrapper message) {
                 if (message instanceof MessageRPCRequest) {
-                    RPCRequest request = ((MessageRPCRequest) message).getRequest();
-                    boolean needResp = false;
-                    try {
-                        Invocation invocation = request.getInvocation();
-                        Class apiCls = Class.forName(request.getApiId());
-                        Method originalMethod = apiCls.getMethod(invocation.getMethodName(), invocation.getParameterTypes());
-                        needResp = checkIsReturn(originalMethod);
-                        Invoker invoker = getInvoker(request.getApiId());
-                        // @see  com.bitactor.framework.rpc.api.annotation.Async
-                        if (invocation.isAsync()) {
-                            doAsyncInvoker(request, invocation, invoker);
-                        } else {
-                            doSyncInvoker(request, invocation, originalMethod, invoker);
-                        }
-                    } catch (Throwable e) {
-                        e.printStackTrace();
-                        if (!needResp) {
-                            return;
-                        }
-                        RPCResult result = new RPCResult(new RpcException("Do Invoker exception: " + request + " url : " + getUrl().toFullString(), e));
-                        this.send(new MessageRPCResponse(new RPCResponse(request, result)));
-                    }
+                    received((MessageRPCRequest) message);
                 } else {
                     //TODO 需要对非法请求做出来
                 }
             }
 
+            /**
+             * 分发请求，携带方法id且分发器不需要参数时，消息体留到执行调用的线程上反序列化
+             * @param message
+             */
+            private void received(MessageRPCRequest message) {
+                RPCRequest request = null;
+                MethodDispatch dispatch = null;
+                RequestDispatcher dispatcher;
+                try {
+                    if (!message.isDecoded() && message.getMethodId() != MethodDictionary.NONE_ID) {
+                        dispatch = resolveDispatch(message.getMethodId());
+                        dispatcher = dispatchers.get(dispatch);
+                        if (dispatcher.needArguments(dispatch)) {
+                            request = decodeRequest(message, dispatch);
+                        }
+                    } else {
+                        request = message.getRequest();
+                        dispatch = resolveDispatch(request);
+                        dispatcher = dispatchers.get(dispatch);
+                    }
+                } catch (Throwable e) {
+                    logger.error("Resolve request failed, reqId : " + message.getReqId() + " methodId : " + message.getMethodId(), e);
+                    sendException(message, dispatch, e);
+                    return;
+                }
+                final MethodDispatch target = dispatch;
+                try {
+                    dispatcher.dispatch(this, request, target,
+                            dispatchers.admit(dispatcher, target, () -> doInvoker(message, target), () -> sendOverload(message, target)),
+                            () -> sendOverload(message, target));
+                } catch (RejectedExecutionException e) {
+                    // 执行队列已满，请求未执行，按过载返回以便消费者改投其他提供者
+                    sendOverload(message, target);
+                }
+            }
+
+            /**
+             * 反序列化消息体后执行调用
+             * @param message
+             * @param dispatch
+             */
+            private void doInvoker(MessageRPCRequest message, MethodDispatch dispatch) {
+                RPCRequest request;
+                try {
+                    request = decodeRequest(message, dispatch);
+                } catch (Throwable e) {
+                    logger.error("Decode request failed, reqId : " + message.getReqId() + " method : " + dispatch.getSignature(), e);
+                    sendException(message, dispatch, e);
+                    return;
+                }
+                doInvoker(request, dispatch);
+            }
+
+            /**
+             * 获取请求，携带方法id的请求同时还原接口名、方法名和参数类型
+             * @param message
+             * @param dispatch
+             * @return
+             */
+            private RPCRequest decodeRequest(MessageRPCRequest message, MethodDispatch dispatch) {
+                RPCRequest request = message.getRequest();
+                if (request.getMethodId() != MethodDictionary.NONE_ID) {
+                    bindMethod(request, dispatch);
+                }
+                return request;
+            }
+
+            /**
+             * 执行调用
+             * @param request
+             * @param dispatch
+             */
+            private void doInvoker(RPCRequest request, MethodDispatch dispatch) {
+                try {
+                    // @see  com.bitactor.framework.rpc.api.annotation.Async
+                    if (request.getInvocation().isAsync()) {
+                        doAsyncInvoker(request, dispatch);
+                    } else {
+                        doSyncInvoker(request, dispatch);
+                    }
+                } catch (Throwable e) {
+                    logger.error("Invoke request failed, reqId : " + request.getReqId() + " method : " + dispatch.getSignature(), e);
+                    sendException(request, dispatch, e);
+                }
+            }
+
+            /**
+             * 调用失败时返回异常响应
+             * @param request
+             * @param dispatch
+             * @param e
+             */
+            private void sendException(RPCRequest request, MethodDispatch dispatch, Throwable e) {
+                if (!dispatch.isNeedReturn()) {
+                    return;
+                }
+                RPCResult result = new RPCResult(new RpcException("Do Invoker exception: " + request + " url : " + getUrl().toFullString(), e));
+                this.send(new MessageRPCResponse(new RPCResponse(request, result)));
+            }
+
+            /**
+             * 请求未能解析或反序列化时返回异常响应，只需消息头中的请求id
+             * @param message
+             * @param dispatch 未匹配到方法时为 null，此时无法判断是否需要响应，按需要响应处理
+             * @param e
+             */
+            private void sendException(MessageRPCRequest message, MethodDispatch dispatch, Throwable e) {
+                if (dispatch != null && !dispatch.isNeedReturn()) {
+                    return;
+                }
+                String method = dispatch != null ? dispatch.getSignature() : "method id " + message.getMethodId();
+                RPCResponse response = new RPCResponse();
+                response.setReqId(message.getReqId());
+                response.setStatus(ResponseType.EXCEPTION);
+                response.setResult(new RPCResult(new RpcException("Decode request exception: " + method + " url : " + getUrl().toFullString(), e)));
+                response.setErrorMsg(StringUtils.toString(e));
+                this.send(new MessageRPCResponse(response));
+            }
+
+            /**
+             * 准入控制丢弃或执行队列已满时返回过载响应，只需请求id，不反序列化消息体
+             * @param message
+             * @param dispatch
+             */
+            private void sendOverload(MessageRPCRequest message, MethodDispatch dispatch) {
+                if (!dispatch.isNeedReturn()) {
+                    return;
+                }
+                RPCResponse response = new RPCResponse();
+                response.setReqId(message.getReqId());
+                response.setStatus(ResponseType.OVERLOAD);
+                response.setErrorMsg("provider overloaded, request shed: " + dispatch.getSignature());
+                this.send(new MessageRPCResponse(response));
+            }
+
+            /**
+             * 从方法分发表查找请求对应的方法，携带方法id的请求同时还原接口名、方法名和参数类型
+             * @param request
+             * @return
+             */
+            private MethodDispatch resolveDispatch(RPCRequest request) {
+                Invocation invocation = request.getInvocation();
+                if (request.getMethodId() != MethodDictionary.NONE_ID) {
+                    MethodDispatch dispatch = resolveDispatch(request.getMethodId());
+                    bindMethod(request, dispatch);
+                    return dispatch;
+                }
+                MethodDispatch dispatch = dispatchTable.get(request.getApiId(), invocation.getMethodName(), invocation.getParameterTypes());
+                if (dispatch == null) {
+                    throw new NoMatchApiException("can not match method : " + request.getApiId() + "#" + invocation.getMethodName());
+                }
+                return dispatch;
+            }
+
+            /**
+             * 根据方法id查找请求对应的方法
+             * @param methodId
+             * @return
+             */
+            private MethodDispatch resolveDispatch(int methodId) {
+                MethodDispatch dispatch = dispatchTable.get(methodId);
+                if (dispatch == null) {
+                    throw new NoMatchApiException("can not match method id : " + methodId);
+                }
+                return dispatch;
+            }
+
+            /**
+             * 按方法还原精简请求中的接口名、方法名和参数类型
+             * @param request
+             * @param dispatch
+             */
+            private void bindMethod(RPCRequest request, MethodDispatch dispatch) {
+                request.setApiId(dispatch.getApiId());
+                RPCInvocation rpcInvocation = (RPCInvocation) request.getInvocation();
+                rpcInvocation.setMethodName(dispatch.getMethod().getName());
+                rpcInvocation.setParameterTypes(dispatch.getMethod().getParameterTypes());
+            }
+
             /**
              * 同步调用
              * @param request
-             * @param invocation
-             * @param originalMethod
-             * @param invoker
+             * @param dispatch
              * @return
              */
-            private void doSyncInvoker(RPCRequest request, Invocation invocation, Method originalMethod, Invoker invoker) {
-                if (invoker == null) {
-                    throw new NotSupportException("Can not find sync Invoker cause by [invoker] null");
-                } else {
-                    RPCResult result = (RPCResult) invoker.invoke(invocation);
-                    // 无注解默认返回
-                    if (!checkIsReturn(originalMethod)) {
-                        return;
-                    }
-                    this.send(new MessageRPCResponse(new RPCResponse(request, result)));
+            private void doSyncInvoker(RPCRequest request, MethodDispatch dispatch) {
+                RPCResult result = (RPCResult) dispatch.getMethodInvoker().invoke(request.getInvocation().getArguments());
+                // 无注解默认返回
+                if (!dispatch.isNeedReturn()) {
+                    return;
                 }
+                if (dispatch.isFutureReturn() && !result.hasException() && result.getValue() instanceof CompletionStage) {
+                    doFutureReturn(request, dispatch, (CompletionStage<?>) result.getValue());
+                    return;
+                }
+                this.send(buildResponse(request, dispatch, result));
+            }
+
+            /**
+             * 返回值为future的调用，在future完成时返回响应，不占用调用线程等待
+             * @param request
+             * @param dispatch
+             * @param future
+             */
+            private void doFutureReturn(RPCRequest request, MethodDispatch dispatch, CompletionStage<?> future) {
+                future.whenComplete((value, cause) -> {
+                    RPCResult result;
+                    if (Objects.nonNull(cause)) {
+                        result = new RPCResult(cause instanceof CompletionException && cause.getCause() != null ? cause.getCause() : cause);
+                    } else {
+                        result = new RPCResult(value);
+                    }
+                    try {
+                        this.send(buildResponse(request, dispatch, result));
+                    } catch (Throwable e) {
+                        logger.error("Send future response failed, reqId : " + request.getReqId() + " method : " + dispatch.getSignature(), e);
+                        sendException(request, dispatch, e);
+                    }
+                });
             }
 
             /**
              * 异步调用
              * @param request
-             * @param invocation
-             * @param invoker
+             * @param dispatch
              */
-            private void doAsyncInvoker(RPCRequest request, Invocation invocation, Invoker invoker) {
-                List<AsyncResultImpl> asyncResults = getAsyncResult(invocation.getArguments());
+            private void doAsyncInvoker(RPCRequest request, MethodDispatch dispatch) {
+                List<AsyncResultImpl> asyncResults = getAsyncResult(request.getInvocation().getArguments());
                 List<CompletableFuture> futures = new ArrayList<>();
                 // 异步回调处理
                 if (!CollectionUtils.isEmpty(asyncResults)) {
@@ -173,15 +381,24 @@ public class ProviderExport extends AbstractExport {
                         });
                     }
                 }
-                if (invoker == null) {
-                    throw new NotSupportException("Can not find async Invoker cause by [invoker] null");
-                } else {
-                    // 异步调用必须要返回响应
-                    RPCResult result = (RPCResult) invoker.invoke(invocation);
-                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenRunAsync(() -> {
-                        this.send(new MessageRPCResponse(new RPCResponse(request, result)));
-                    });
-                }
+                // 异步调用必须要返回响应
+                RPCResult result = (RPCResult) dispatch.getMethodInvoker().invoke(request.getInvocation().getArguments());
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenRunAsync(() -> {
+                    this.send(buildResponse(request, dispatch, result));
+                });
+            }
+
+            /**
+             * 构建响应，只带回异步回调参数和 {@link WriteBack} 指定的参数
+             * @param request
+             * @param dispatch
+             * @param result
+             * @return
+             */
+            private MessageRPCResponse buildResponse(RPCRequest request, MethodDispatch dispatch, RPCResult result) {
+                RPCResponse response = new RPCResponse(request, result);
+                response.writeBack(dispatch.getWriteBackIndexes(), request.getInvocation().getArguments());
+                return new MessageRPCResponse(response);
             }
 
             @Override
@@ -189,19 +406,6 @@ public class ProviderExport extends AbstractExport {
 
             }
 
-            private boolean checkIsReturn(Method originalMethod) {
-                if (originalMethod == null) {
-                    return false;
-                }
-                // 获取调用RPC的注解确认是否返回结果，默认返回
-                NoWaitReturn noWaitReturn = originalMethod.getAnnotation(NoWaitReturn.class);
-                Broadcast broadcast = originalMethod.getAnnotation(Broadcast.class);
-                if (noWaitReturn != null || broadcast != null) {
-                    return false;
-                }
-                return true;
-            }
-
             private List<AsyncResultImpl> getAsyncResult(Object[] arguments) {
                 if (Objects.isNull(arguments)) {
                     return Collections.emptyList();
@@ -222,6 +426,20 @@ public class ProviderExport extends AbstractExport {
         };
     }
 
+    /**
+     * 握手时下发方法id字典
+     *
+     * @param handShakeData
+     * @param url
+     */
+    @Override
+    public void buildCustomHandShakeData(HandShakeData handShakeData, UrlProperties url) {
+        if (!url.getParameter(RPCConstants.RPC_METHOD_ID_KEY, RPCConstants.DEFAULT_RPC_METHOD_ID) || methodDictionary.isEmpty()) {
+            return;
+        }
+        handShakeData.addSystemParameter(RPCConstants.RPC_METHOD_DICTIONARY_KEY, methodDictionary.toHandShakeStr());
+    }
+
     @Override
     public void activityChannel(Channel channel) {
         // TODO: 2019/6/27 provider 端是否需要做处理 ，待考虑
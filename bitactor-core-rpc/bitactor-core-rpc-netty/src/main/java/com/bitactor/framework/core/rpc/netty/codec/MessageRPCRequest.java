@@ -23,37 +23,145 @@ import com.bitactor.framework.core.rpc.api.RPCRequest;
 import com.bitactor.framework.core.rpc.api.type.RPCDataType;
 import com.bitactor.framework.core.utils.serialize.ProtostuffSerialize;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
 
 /**
  * @author WXH
  */
 public class MessageRPCRequest extends MessageData {
-    private RPCRequest request;
+    private volatile RPCRequest request;
+    /**
+     * 延迟解码时保留的序列化数据，解码后释放
+     */
+    private byte[] body;
+    /**
+     * 延迟解码时在IO线程上读取的消息头
+     */
+    private RPCHeader header;
 
     public MessageRPCRequest(byte[] data, byte[] serializeData) {
         super(data);
-        long start = System.currentTimeMillis();
         request = ProtostuffSerialize.deserializerToObj(serializeData, RPCRequest.class);
     }
 
+    /**
+     * 直接从网络缓冲区反序列化，不保留原始数据
+     *
+     * @param body 去掉数据类型后的序列化数据，仅在构造期间有效
+     */
+    public MessageRPCRequest(ByteBuf body) {
+        super(null);
+        request = NettyRPCCodec.deserialize(body, RPCRequest.class);
+    }
+
+    /**
+     * 延迟解码，IO线程上只读取请求id和方法id，消息体在首次 {@link #getRequest()} 时反序列化
+     *
+     * @param header 消息头
+     * @param body   去掉数据类型后的序列化数据
+     */
+    public MessageRPCRequest(RPCHeader header, byte[] body) {
+        super(null);
+        this.header = header;
+        this.body = body;
+    }
+
     public MessageRPCRequest(RPCRequest request) {
         super(null);
         this.request = request;
-        this.setData(encodeRequest(request));
+    }
+
+    /**
+     * 编码时直接序列化到网络缓冲区
+     *
+     * @param out
+     * @param byteOrder
+     * @throws IOException
+     */
+    @Override
+    public void writeData(OutputStream out, ByteOrder byteOrder) throws IOException {
+        byte[] data = super.getData();
+        RPCRequest request = getRequest();
+        if (data != null || request == null) {
+            super.writeData(out, byteOrder);
+            return;
+        }
+        out.write(RPCDataType.REQUEST);
+        ProtostuffSerialize.serializerToStream(request, out);
+    }
+
+    /**
+     * 非直接编码的场景下按需序列化为字节数组
+     *
+     * @return
+     */
+    @Override
+    public byte[] getData() {
+        byte[] data = super.getData();
+        RPCRequest request = getRequest();
+        if (data == null && request != null) {
+            data = encodeRequest(request);
+            setData(data);
+        }
+        return data;
+    }
+
+    @Override
+    public byte[] getData(ByteOrder byteOrder) {
+        return getData();
     }
 
     private byte[] encodeRequest(RPCRequest request) {
         byte[] data = ProtostuffSerialize.serializerToBytes(request);
-        ByteBuf buf = Unpooled.buffer(data.length + 1);
-        buf.writeByte(RPCDataType.REQUEST);
-        buf.writeBytes(data);
-        return ByteBufUtil.getBytes(buf, buf.readerIndex(), buf.readableBytes());
+        byte[] bytes = new byte[data.length + 1];
+        bytes[0] = RPCDataType.REQUEST;
+        System.arraycopy(data, 0, bytes, 1, data.length);
+        return bytes;
     }
 
     public RPCRequest getRequest() {
+        RPCRequest request = this.request;
+        if (request == null) {
+            synchronized (this) {
+                request = this.request;
+                if (request == null && body != null) {
+                    request = ProtostuffSerialize.deserializerToObj(body, RPCRequest.class);
+                    this.request = request;
+                    body = null;
+                }
+            }
+        }
         return request;
     }
 
+    /**
+     * 消息体是否已反序列化
+     *
+     * @return
+     */
+    public boolean isDecoded() {
+        return request != null;
+    }
+
+    /**
+     * 请求id，延迟解码时从消息头读取，不触发消息体反序列化
+     *
+     * @return
+     */
+    public long getReqId() {
+        return header != null ? header.getReqId() : getRequest().getReqId();
+    }
+
+    /**
+     * 方法id，延迟解码时从消息头读取，不触发消息体反序列化
+     *
+     * @return
+     */
+    public int getMethodId() {
+        return header != null ? header.getMethodId() : getRequest().getMethodId();
+    }
+
 }
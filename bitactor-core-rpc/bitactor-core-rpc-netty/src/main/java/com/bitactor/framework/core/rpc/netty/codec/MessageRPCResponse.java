@@ -22,37 +22,137 @@ import com.bitactor.framework.core.rpc.api.RPCResponse;
 import com.bitactor.framework.core.rpc.api.type.RPCDataType;
 import com.bitactor.framework.core.utils.serialize.ProtostuffSerialize;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
 
 
 /**
  * @author WXH
  */
 public class MessageRPCResponse extends MessageData {
-    private RPCResponse response;
+    private volatile RPCResponse response;
+    /**
+     * 延迟解码时保留的序列化数据，解码后释放
+     */
+    private byte[] body;
+    /**
+     * 延迟解码时在IO线程上读取的消息头
+     */
+    private RPCHeader header;
 
     public MessageRPCResponse(byte[] data, byte[] serializeData) {
         super(data);
-        long start = System.currentTimeMillis();
         response = ProtostuffSerialize.deserializerToObj(serializeData, RPCResponse.class);
     }
+
+    /**
+     * 直接从网络缓冲区反序列化，不保留原始数据
+     *
+     * @param body 去掉数据类型后的序列化数据，仅在构造期间有效
+     */
+    public MessageRPCResponse(ByteBuf body) {
+        super(null);
+        response = NettyRPCCodec.deserialize(body, RPCResponse.class);
+    }
+
+    /**
+     * 延迟解码，IO线程上只读取请求id，消息体在首次 {@link #getResponse()} 时反序列化
+     *
+     * @param header 消息头
+     * @param body   去掉数据类型后的序列化数据
+     */
+    public MessageRPCResponse(RPCHeader header, byte[] body) {
+        super(null);
+        this.header = header;
+        this.body = body;
+    }
+
     public MessageRPCResponse(RPCResponse response) {
         super(null);
         this.response = response;
-        this.setData(encodeResponse(response));
     }
 
-    private byte[] encodeResponse(RPCResponse response){
+    /**
+     * 编码时直接序列化到网络缓冲区
+     *
+     * @param out
+     * @param byteOrder
+     * @throws IOException
+     */
+    @Override
+    public void writeData(OutputStream out, ByteOrder byteOrder) throws IOException {
+        byte[] data = super.getData();
+        RPCResponse response = getResponse();
+        if (data != null || response == null) {
+            super.writeData(out, byteOrder);
+            return;
+        }
+        out.write(RPCDataType.RESPONSE);
+        ProtostuffSerialize.serializerToStream(response, out);
+    }
+
+    /**
+     * 非直接编码的场景下按需序列化为字节数组
+     *
+     * @return
+     */
+    @Override
+    public byte[] getData() {
+        byte[] data = super.getData();
+        RPCResponse response = getResponse();
+        if (data == null && response != null) {
+            data = encodeResponse(response);
+            setData(data);
+        }
+        return data;
+    }
+
+    @Override
+    public byte[] getData(ByteOrder byteOrder) {
+        return getData();
+    }
+
+    private byte[] encodeResponse(RPCResponse response) {
         byte[] data = ProtostuffSerialize.serializerToBytes(response);
-        ByteBuf buf = Unpooled.buffer(data.length + 1);
-        buf.writeByte(RPCDataType.RESPONSE);
-        buf.writeBytes(data);
-        return ByteBufUtil.getBytes(buf, buf.readerIndex(), buf.readableBytes());
+        byte[] bytes = new byte[data.length + 1];
+        bytes[0] = RPCDataType.RESPONSE;
+        System.arraycopy(data, 0, bytes, 1, data.length);
+        return bytes;
     }
 
     public RPCResponse getResponse() {
+        RPCResponse response = this.response;
+        if (response == null) {
+            synchronized (this) {
+                response = this.response;
+                if (response == null && body != null) {
+                    response = ProtostuffSerialize.deserializerToObj(body, RPCResponse.class);
+                    this.response = response;
+                    body = null;
+                }
+            }
+        }
         return response;
     }
 
+    /**
+     * 消息体是否已反序列化
+     *
+     * @return
+     */
+    public boolean isDecoded() {
+        return response != null;
+    }
+
+    /**
+     * 请求id，延迟解码时从消息头读取，不触发消息体反序列化
+     *
+     * @return
+     */
+    public long getReqId() {
+        return header != null ? header.getReqId() : getResponse().getReqId();
+    }
+
 }
@@ -18,13 +18,17 @@
 package com.bitactor.framework.core.rpc.netty.codec;
 
 import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.constant.RPCConstants;
 import com.bitactor.framework.core.net.api.transport.message.MessageData;
 import com.bitactor.framework.core.net.api.transport.message.MessageWrapper;
 import com.bitactor.framework.core.net.netty.codec.NettyDefaultCodec;
 import com.bitactor.framework.core.rpc.api.type.RPCDataType;
+import com.bitactor.framework.core.utils.serialize.ProtostuffSerialize;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
+
+import java.util.Arrays;
 
 /**
  * netty下的默认编码解码器
@@ -32,21 +36,91 @@ import io.netty.buffer.Unpooled;
  * @author WXH
  */
 public class NettyRPCCodec extends NettyDefaultCodec {
+    /**
+     * 是否直接从网络缓冲区反序列化
+     */
+    private final boolean zeroCopy;
+    /**
+     * 是否延迟反序列化消息体；开启时IO线程不再反序列化，但消息体要拷贝为字节数组保留到分发线程，
+     * 不使用 {@link #zeroCopy}。网络缓冲区在解码后即释放，保留缓冲区需要在拒绝、丢弃、超时等全部路径上释放，
+     * 因此以一次拷贝换取反序列化移出IO线程，默认关闭
+     */
+    private final boolean lazy;
+
     public NettyRPCCodec(UrlProperties url) {
         super(url);
+        this.zeroCopy = url.getParameter(RPCConstants.RPC_DECODE_ZERO_COPY_KEY, RPCConstants.DEFAULT_RPC_DECODE_ZERO_COPY);
+        this.lazy = url.getParameter(RPCConstants.RPC_DECODE_LAZY_KEY, RPCConstants.DEFAULT_RPC_DECODE_LAZY);
+    }
+
+    @Override
+    public MessageWrapper buildMessageData(ByteBuf buf) {
+        if (!buf.isReadable()) {
+            return super.buildMessageData(buf);
+        }
+        byte type = buf.getByte(buf.readerIndex());
+        if (lazy && (type == RPCDataType.REQUEST || type == RPCDataType.RESPONSE)) {
+            // buf 在解码后即释放，消息体需拷贝保留
+            return buildLazyMessage(type, ByteBufUtil.getBytes(buf, buf.readerIndex() + 1, buf.readableBytes() - 1));
+        }
+        if (!zeroCopy) {
+            return super.buildMessageData(buf);
+        }
+        if (type == RPCDataType.REQUEST) {
+            buf.skipBytes(1);
+            return new MessageRPCRequest(buf);
+        } else if (type == RPCDataType.RESPONSE) {
+            buf.skipBytes(1);
+            return new MessageRPCResponse(buf);
+        } else {
+            return super.buildMessageData(buf);
+        }
     }
 
+    @Override
     public MessageWrapper buildMessageData(byte[] data) {
-        ByteBuf buf = Unpooled.buffer(data.length);
-        buf.writeBytes(data);
-        byte type = buf.readByte();
-        byte[] serializeData = ByteBufUtil.getBytes(buf, buf.readerIndex(), buf.readableBytes());
+        if (data == null || data.length == 0) {
+            return new MessageData(data);
+        }
+        byte type = data[0];
+        if (lazy && (type == RPCDataType.REQUEST || type == RPCDataType.RESPONSE)) {
+            return buildLazyMessage(type, Arrays.copyOfRange(data, 1, data.length));
+        }
         if (type == RPCDataType.REQUEST) {
-            return new MessageRPCRequest(data, serializeData);
+            return new MessageRPCRequest(data, Arrays.copyOfRange(data, 1, data.length));
         } else if (type == RPCDataType.RESPONSE) {
-            return new MessageRPCResponse(data, serializeData);
+            return new MessageRPCResponse(data, Arrays.copyOfRange(data, 1, data.length));
         } else {
             return new MessageData(data);
         }
     }
+
+    /**
+     * 只读取消息头，消息体留到首次获取请求或响应时再反序列化
+     *
+     * @param type
+     * @param body 去掉数据类型后的序列化数据
+     * @return
+     */
+    private MessageWrapper buildLazyMessage(byte type, byte[] body) {
+        if (type == RPCDataType.REQUEST) {
+            return new MessageRPCRequest(RPCHeader.readRequest(body), body);
+        }
+        return new MessageRPCResponse(RPCHeader.readResponse(body), body);
+    }
+
+    /**
+     * 从 buf 的可读区间反序列化对象，不改变 buf 的读写索引，也不释放 buf；
+     * 堆内存直接读取底层数组，直接内存通过输入流读取，均不产生中间拷贝
+     *
+     * @param buf
+     * @param clazz
+     * @return
+     */
+    public static <T> T deserialize(ByteBuf buf, Class<T> clazz) {
+        if (buf.hasArray()) {
+            return ProtostuffSerialize.deserializerToObj(buf.array(), buf.arrayOffset() + buf.readerIndex(), buf.readableBytes(), clazz);
+        }
+        return ProtostuffSerialize.deserializerToObj(new ByteBufInputStream(buf.duplicate(), buf.readableBytes()), clazz);
+    }
 }
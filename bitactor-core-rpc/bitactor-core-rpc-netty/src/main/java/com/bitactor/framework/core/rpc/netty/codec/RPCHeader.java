@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.netty.codec;
+
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.RPCResponse;
+import com.bitactor.framework.core.rpc.api.support.MethodDictionary;
+import com.dyuproject.protostuff.ByteArrayInput;
+import com.dyuproject.protostuff.Input;
+import com.dyuproject.protostuff.Output;
+import com.dyuproject.protostuff.Schema;
+import com.dyuproject.protostuff.runtime.RuntimeSchema;
+
+import java.io.IOException;
+
+/**
+ * rpc消息头，只读取 {@link RPCRequest}/{@link RPCResponse} 序列化数据中的请求id和方法id，
+ * 其余字段直接跳过，不创建参数对象；用于在IO线程上分发消息，消息体延迟到分发线程再反序列化
+ * <p>
+ * 字段号在类加载时从 {@link RuntimeSchema} 读取，字段增加或调整顺序后仍与序列化一致；找不到字段时类初始化失败
+ *
+ * @author WXH
+ */
+public class RPCHeader {
+    private static final String REQ_ID = "reqId";
+    private static final String METHOD_ID = "methodId";
+
+    private static final HeaderSchema REQUEST_SCHEMA = new HeaderSchema(RPCRequest.class.getName(),
+            fieldNumber(RPCRequest.class, REQ_ID), fieldNumber(RPCRequest.class, METHOD_ID));
+    private static final HeaderSchema RESPONSE_SCHEMA = new HeaderSchema(RPCResponse.class.getName(),
+            fieldNumber(RPCResponse.class, REQ_ID), 0);
+
+    private long reqId;
+    private int methodId = MethodDictionary.NONE_ID;
+
+    public long getReqId() {
+        return reqId;
+    }
+
+    public int getMethodId() {
+        return methodId;
+    }
+
+    /**
+     * 读取请求头
+     *
+     * @param body 请求的序列化数据
+     * @return
+     */
+    public static RPCHeader readRequest(byte[] body) {
+        return read(body, REQUEST_SCHEMA);
+    }
+
+    /**
+     * 读取响应头，读到请求id后即停止
+     *
+     * @param body 响应的序列化数据
+     * @return
+     */
+    public static RPCHeader readResponse(byte[] body) {
+        return read(body, RESPONSE_SCHEMA);
+    }
+
+    /**
+     * 运行时schema中字段的字段号
+     *
+     * @param clazz
+     * @param field
+     * @return
+     * @throws IllegalStateException 字段不存在时抛出
+     */
+    private static int fieldNumber(Class<?> clazz, String field) {
+        int number = RuntimeSchema.getSchema(clazz).getFieldNumber(field);
+        if (number <= 0) {
+            throw new IllegalStateException("Field " + field + " not found in schema of " + clazz.getName());
+        }
+        return number;
+    }
+
+    private static RPCHeader read(byte[] body, HeaderSchema schema) {
+        RPCHeader header = new RPCHeader();
+        try {
+            schema.mergeFrom(new ByteArrayInput(body, 0, body.length, true), header);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return header;
+    }
+
+    @Override
+    public String toString() {
+        return "RPCHeader{" +
+                "reqId=" + reqId +
+                ", methodId=" + methodId +
+                '}';
+    }
+
+    /**
+     * 只读不写的消息头schema
+     */
+    private static class HeaderSchema implements Schema<RPCHeader> {
+        private final String name;
+        private final int reqIdField;
+        /**
+         * 方法id的字段号，0 表示没有该字段
+         */
+        private final int methodIdField;
+        /**
+         * 需要读取的最后一个字段，之后的字段不再解析
+         */
+        private final int lastField;
+
+        HeaderSchema(String name, int reqIdField, int methodIdField) {
+            this.name = name;
+            this.reqIdField = reqIdField;
+            this.methodIdField = methodIdField;
+            this.lastField = Math.max(reqIdField, methodIdField);
+        }
+
+        @Override
+        public void mergeFrom(Input input, RPCHeader header) throws IOException {
+            for (int number = input.readFieldNumber(this); number != 0; number = input.readFieldNumber(this)) {
+                if (number == reqIdField) {
+                    header.reqId = input.readInt64();
+                } else if (number == methodIdField) {
+                    header.methodId = input.readInt32();
+                } else {
+                    input.handleUnknownField(number, this);
+                }
+                if (number >= lastField) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void writeTo(Output output, RPCHeader header) throws IOException {
+            throw new UnsupportedOperationException("rpc header is read only");
+        }
+
+        @Override
+        public String getFieldName(int number) {
+            return null;
+        }
+
+        @Override
+        public int getFieldNumber(String name) {
+            return 0;
+        }
+
+        @Override
+        public boolean isInitialized(RPCHeader header) {
+            return true;
+        }
+
+        @Override
+        public RPCHeader newMessage() {
+            return new RPCHeader();
+        }
+
+        @Override
+        public String messageName() {
+            return name;
+        }
+
+        @Override
+        public String messageFullName() {
+            return name;
+        }
+
+        @Override
+        public Class<? super RPCHeader> typeClass() {
+            return RPCHeader.class;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.consumer;
+
+
+import com.bitactor.framework.core.constant.NetConstants;
+import com.bitactor.framework.core.constant.RPCConstants;
+import com.bitactor.framework.core.net.api.transport.HandShakeData;
+import com.bitactor.framework.core.net.netty.channel.NettyChannel;
+import com.bitactor.framework.core.net.netty.channel.NettyChannelContext;
+import com.bitactor.framework.core.rpc.api.support.MethodDictionary;
+import com.bitactor.framework.core.rpc.netty.future.PendingRequests;
+
+/**
+ * 消费者连接，持有提供者握手时下发的方法id字典及当前连接上等待响应的请求
+ *
+ * @author WXH
+ */
+public abstract class ConsumerChannel extends NettyChannel {
+    private volatile MethodDictionary methodDictionary;
+    private volatile boolean dictionaryResolved = false;
+    private final PendingRequests pendingRequests = new PendingRequests();
+
+    public ConsumerChannel(NettyChannelContext channelContext) {
+        super(channelContext);
+    }
+
+    /**
+     * 获取提供者下发的方法id字典，握手完成前或提供者未下发时返回 null
+     *
+     * @return
+     */
+    public MethodDictionary getMethodDictionary() {
+        if (!dictionaryResolved) {
+            if (!getUrl().getParameter(RPCConstants.RPC_METHOD_ID_KEY, RPCConstants.DEFAULT_RPC_METHOD_ID)) {
+                dictionaryResolved = true;
+                return null;
+            }
+            Object handShakeData = getAttrVal(NetConstants.HAND_SHAKE_DATA_KEY);
+            if (handShakeData instanceof HandShakeData) {
+                methodDictionary = MethodDictionary.parse(((HandShakeData) handShakeData).getSystemParameterStr(RPCConstants.RPC_METHOD_DICTIONARY_KEY));
+                dictionaryResolved = true;
+            }
+        }
+        return methodDictionary;
+    }
+
+    /**
+     * 获取方法签名对应的方法id
+     *
+     * @param signature
+     * @return 未协商时返回 {@link MethodDictionary#NONE_ID}
+     */
+    public int getMethodId(String signature) {
+        MethodDictionary dictionary = getMethodDictionary();
+        return dictionary == null ? MethodDictionary.NONE_ID : dictionary.getId(signature);
+    }
+
+    public PendingRequests getPendingRequests() {
+        return pendingRequests;
+    }
+}
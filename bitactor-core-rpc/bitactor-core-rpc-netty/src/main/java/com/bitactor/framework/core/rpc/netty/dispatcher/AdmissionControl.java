@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bitactor.framework.core.rpc.netty.dispatcher;
+
+import com.bitactor.framework.core.rpc.api.type.PriorityType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分发队列的准入控制（CoDel）：每个统计区间内的最小排队延迟超过目标延迟时视为过载
+ * <ul>
+ * <li>{@link PriorityType#HIGH}：不丢弃</li>
+ * <li>{@link PriorityType#NORMAL}：过载时丢弃排队超过目标延迟的请求；未过载时只丢弃排队超过消费者超时时间的请求，
+ * 这类请求已在消费者端超时，执行也没有意义</li>
+ * <li>{@link PriorityType#LOW}：过载时全部丢弃，未过载时丢弃排队超过一个统计区间的请求</li>
+ * </ul>
+ * 统计在每个请求开始执行时进行，不加锁：区间切换通过 CAS 由一个线程完成，最小延迟通过 CAS 更新
+ *
+ * @author WXH
+ */
+public class AdmissionControl {
+    private final long targetNanos;
+    private final long intervalNanos;
+    /**
+     * 消费者的超时时间，排队超过该时间的请求消费者已不再等待
+     */
+    private final long expireNanos;
+    /**
+     * 当前统计区间的结束时间
+     */
+    private final AtomicLong intervalEnd;
+    /**
+     * 当前统计区间内的最小排队延迟
+     */
+    private final AtomicLong minDelayNanos = new AtomicLong(Long.MAX_VALUE);
+    private volatile boolean overloaded;
+
+    /**
+     * @param target   目标排队延迟（毫秒）
+     * @param interval 统计区间（毫秒）
+     * @param expire   消费者的超时时间（毫秒）
+     */
+    public AdmissionControl(long target, long interval, long expire) {
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(target);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(target, interval));
+        this.expireNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(target, expire));
+        this.intervalEnd = new AtomicLong(System.nanoTime() + intervalNanos);
+    }
+
+    /**
+     * 请求开始执行时判断是否准入
+     *
+     * @param delayNanos 请求的排队延迟
+     * @param priority   请求的优先级
+     * @return false 时请求应被丢弃
+     */
+    public boolean admit(long delayNanos, PriorityType priority) {
+        boolean overloaded = update(delayNanos);
+        switch (priority) {
+            case HIGH:
+                return true;
+            case LOW:
+                return !overloaded && delayNanos <= intervalNanos;
+            default:
+                return delayNanos <= (overloaded ? targetNanos : expireNanos);
+        }
+    }
+
+    private boolean update(long delayNanos) {
+        long now = System.nanoTime();
+        long end = intervalEnd.get();
+        if (now - end >= 0 && intervalEnd.compareAndSet(end, now + intervalNanos)) {
+            // 切换区间的线程以本次延迟开始新区间；空闲超过一个区间时上一区间的样本已过时
+            long minDelay = minDelayNanos.getAndSet(delayNanos);
+            boolean overloaded = now - end < intervalNanos && minDelay != Long.MAX_VALUE && minDelay > targetNanos;
+            this.overloaded = overloaded;
+            return overloaded;
+        }
+        long minDelay;
+        while (delayNanos < (minDelay = minDelayNanos.get()) && !minDelayNanos.compareAndSet(minDelay, delayNanos)) {
+            // 其他线程更新了最小延迟，重新比较
+        }
+        return overloaded;
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.dispatcher;
+
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatch;
+
+/**
+ * 在接收消息的线程上直接执行，没有排队延迟
+ *
+ * @author WXH
+ */
+public class DirectRequestDispatcher implements RequestDispatcher {
+    private final DispatchStats stats = new DispatchStats();
+
+    @Override
+    public void dispatch(Channel channel, RPCRequest request, MethodDispatch dispatch, Runnable task, Runnable rejected) {
+        stats.record(0);
+        task.run();
+    }
+
+    @Override
+    public boolean needArguments(MethodDispatch dispatch) {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return RequestDispatchers.DIRECT;
+    }
+
+    @Override
+    public DispatchStats getStats() {
+        return stats;
+    }
+}
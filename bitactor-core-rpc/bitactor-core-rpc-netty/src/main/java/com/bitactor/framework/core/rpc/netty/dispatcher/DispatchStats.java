@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.dispatcher;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分发排队延迟统计
+ *
+ * @author WXH
+ */
+public class DispatchStats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    /**
+     * 准入控制丢弃的请求数
+     */
+    private final LongAdder shed = new LongAdder();
+
+    public void record(long delayNanos) {
+        count.increment();
+        totalNanos.add(delayNanos);
+        maxNanos.accumulate(delayNanos);
+    }
+
+    /**
+     * 包装任务，执行时记录从包装到开始执行的延迟
+     *
+     * @param task
+     * @return
+     */
+    public Runnable timed(Runnable task) {
+        long dispatchNanos = System.nanoTime();
+        return () -> {
+            record(System.nanoTime() - dispatchNanos);
+            task.run();
+        };
+    }
+
+    public void recordShed() {
+        shed.increment();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMeanNanos() {
+        long count = this.count.sum();
+        return count == 0 ? 0 : totalNanos.sum() / count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchStats{" +
+                "count=" + getCount() +
+                ", meanNanos=" + getMeanNanos() +
+                ", maxNanos=" + getMaxNanos() +
+                ", shed=" + getShedCount() +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.dispatcher;
+
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatch;
+import com.bitactor.framework.core.threadpool.KeyedOrderedExecutor;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 提交到线程池按键有序执行：
+ * 按连接分发时键为连接id；按参数分发时键为 {@link com.bitactor.framework.core.rpc.api.annotation.DispatchKey} 参数，
+ * 方法未标注或参数为 null 时退化为按连接有序
+ *
+ * @author WXH
+ */
+public class OrderedRequestDispatcher implements RequestDispatcher {
+    private final String name;
+    private final boolean byArgument;
+    private final KeyedOrderedExecutor<Object> executor;
+    private final DispatchStats stats = new DispatchStats();
+
+    public OrderedRequestDispatcher(String name, boolean byArgument, ExecutorService executorService) {
+        this.name = name;
+        this.byArgument = byArgument;
+        this.executor = new KeyedOrderedExecutor<>(executorService);
+    }
+
+    @Override
+    public void dispatch(Channel channel, RPCRequest request, MethodDispatch dispatch, Runnable task, Runnable rejected) {
+        Object key = needArguments(dispatch) ? dispatch.getDispatchKey(request.getInvocation().getArguments()) : null;
+        // 键上排队的任务可能在之后的调度中被拒绝，始终通过回调通知
+        executor.execute(key == null ? channel.getChannelId() : key, stats.timed(task), rejected);
+    }
+
+    @Override
+    public boolean needArguments(MethodDispatch dispatch) {
+        return byArgument && dispatch.getDispatchKeyIndex() >= 0;
+    }
+
+    /**
+     * 等待执行的请求数
+     *
+     * @return
+     */
+    public long getBacklog() {
+        return executor.getBacklog();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public DispatchStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.dispatcher;
+
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatch;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 提交到线程池执行，不保证顺序
+ *
+ * @author WXH
+ */
+public class PoolRequestDispatcher implements RequestDispatcher {
+    private final String name;
+    private final ExecutorService executor;
+    private final DispatchStats stats = new DispatchStats();
+
+    public PoolRequestDispatcher(String name, ExecutorService executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    @Override
+    public void dispatch(Channel channel, RPCRequest request, MethodDispatch dispatch, Runnable task, Runnable rejected) {
+        executor.execute(stats.timed(task));
+    }
+
+    @Override
+    public boolean needArguments(MethodDispatch dispatch) {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public DispatchStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.dispatcher;
+
+import com.bitactor.framework.core.net.api.Channel;
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatch;
+
+/**
+ * 提供者请求分发器，决定调用在哪个线程上执行
+ *
+ * @author WXH
+ */
+public interface RequestDispatcher {
+    /**
+     * 分发调用
+     *
+     * @param channel  请求所在的连接
+     * @param request  请求，消息体延迟解码时可能为 null，{@link #needArguments} 返回 true 时不为 null
+     * @param dispatch 请求对应的方法
+     * @param task     执行调用的任务
+     * @param rejected 任务被线程池拒绝、不会再执行时调用，按键有序的分发器排队后才可能被拒绝，通过该回调通知
+     * @throws java.util.concurrent.RejectedExecutionException 分发时线程池直接拒绝且未调用 rejected 时抛出
+     */
+    void dispatch(Channel channel, RPCRequest request, MethodDispatch dispatch, Runnable task, Runnable rejected);
+
+    /**
+     * 分发前是否需要请求参数，不需要时消息体在执行调用的线程上反序列化
+     *
+     * @param dispatch 请求对应的方法
+     * @return
+     */
+    boolean needArguments(MethodDispatch dispatch);
+
+    /**
+     * 分发方式名称
+     *
+     * @return
+     */
+    String getName();
+
+    /**
+     * 请求从分发到开始执行的排队延迟
+     *
+     * @return
+     */
+    DispatchStats getStats();
+}
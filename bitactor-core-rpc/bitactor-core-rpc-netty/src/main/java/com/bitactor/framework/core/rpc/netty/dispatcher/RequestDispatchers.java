@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.dispatcher;
+
+import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.constant.NetConstants;
+import com.bitactor.framework.core.constant.RPCConstants;
+import com.bitactor.framework.core.logger.Logger;
+import com.bitactor.framework.core.logger.LoggerFactory;
+import com.bitactor.framework.core.rpc.api.support.MethodDispatch;
+import com.bitactor.framework.core.threadpool.RejectPolicy;
+import com.bitactor.framework.core.threadpool.ThreadPoolFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 提供者的全部分发器，按方法上的 {@link com.bitactor.framework.core.rpc.api.annotation.Dispatcher} 或url配置选择；
+ * pool 使用共享线程池；channel、key 使用单独的线程池，类型和大小与共享线程池相同，
+ * 但总是以抛出异常的方式拒绝，被拒绝的请求通过回调返回过载响应；virtual 使用虚拟线程，线程池在首次使用时创建
+ *
+ * @author WXH
+ */
+public class RequestDispatchers {
+    private static final Logger logger = LoggerFactory.getLogger(RequestDispatchers.class);
+
+    public static final String DIRECT = "direct";
+    public static final String CHANNEL = "channel";
+    public static final String KEY = "key";
+    public static final String POOL = "pool";
+    public static final String VIRTUAL = "virtual";
+
+    private final UrlProperties url;
+    private final String defaultName;
+    private final Map<String, RequestDispatcher> dispatchers = new ConcurrentHashMap<>();
+    private volatile ExecutorService sharedExecutor;
+    private volatile ExecutorService orderedExecutor;
+    private volatile ExecutorService virtualExecutor;
+    /**
+     * 准入控制的目标排队延迟（毫秒），0 表示不开启
+     */
+    private final long shedTarget;
+    private final long shedInterval;
+    /**
+     * 消费者的超时时间（毫秒），未过载时排队超过该时间的请求被丢弃
+     */
+    private final long shedExpire;
+    /**
+     * 分发方式 -> 准入控制，每个分发队列独立统计
+     */
+    private final Map<String, AdmissionControl> admissions = new ConcurrentHashMap<>();
+
+    public RequestDispatchers(UrlProperties url) {
+        this.url = url;
+        this.defaultName = resolveDefaultName(url);
+        this.shedTarget = Math.max(0, url.getParameter(RPCConstants.PROVIDER_SHED_TARGET_KEY, RPCConstants.DEFAULT_PROVIDER_SHED_TARGET));
+        this.shedInterval = url.getPositiveParameter(RPCConstants.PROVIDER_SHED_INTERVAL_KEY, RPCConstants.DEFAULT_PROVIDER_SHED_INTERVAL);
+        this.shedExpire = url.getPositiveParameter(NetConstants.TIMEOUT_KEY, NetConstants.DEFAULT_TIMEOUT);
+        logger.info(String.format("[Provider default dispatcher                     ] : %s  ", defaultName));
+        if (shedTarget > 0) {
+            logger.info(String.format("[Provider shed target / interval / expire (ms)   ] : %s / %s / %s  ", shedTarget, shedInterval, shedExpire));
+        }
+    }
+
+    /**
+     * 默认分发方式，未配置 provider.dispatcher 时兼容 provider.thread.pool
+     *
+     * @param url
+     * @return
+     */
+    private static String resolveDefaultName(UrlProperties url) {
+        String name = url.getParameter(RPCConstants.PROVIDER_DISPATCHER_KEY);
+        if (name != null && !name.isEmpty()) {
+            return name.trim().toLowerCase();
+        }
+        String threadPool = url.getParameter(RPCConstants.PROVIDER_THREAD_POOL_KEY, RPCConstants.DEFAULT_PROVIDER_THREAD_POOL);
+        if (RPCConstants.DEFAULT_PROVIDER_THREAD_POOL.equals(threadPool)) {
+            return DIRECT;
+        }
+        return NetConstants.THREAD_POOL_VIRTUAL.equals(threadPool) ? VIRTUAL : POOL;
+    }
+
+    /**
+     * 获取方法对应的分发器
+     *
+     * @param dispatch
+     * @return
+     */
+    public RequestDispatcher get(MethodDispatch dispatch) {
+        String name = dispatch.getDispatcher();
+        return get(name == null ? defaultName : name.trim().toLowerCase());
+    }
+
+    public RequestDispatcher get(String name) {
+        RequestDispatcher dispatcher = dispatchers.get(name);
+        if (dispatcher == null) {
+            dispatcher = dispatchers.computeIfAbsent(name, this::create);
+        }
+        return dispatcher;
+    }
+
+    /**
+     * 包装调用任务，开始执行时按排队延迟和方法优先级做准入控制，未准入时执行 shed
+     *
+     * @param dispatcher 请求使用的分发器
+     * @param dispatch   请求对应的方法
+     * @param task       执行调用的任务
+     * @param shed       丢弃请求时执行的任务
+     * @return 未开启准入控制时直接返回 task
+     */
+    public Runnable admit(RequestDispatcher dispatcher, MethodDispatch dispatch, Runnable task, Runnable shed) {
+        if (shedTarget <= 0) {
+            return task;
+        }
+        AdmissionControl admission = admissions.get(dispatcher.getName());
+        if (admission == null) {
+            admission = admissions.computeIfAbsent(dispatcher.getName(), name -> new AdmissionControl(shedTarget, shedInterval, shedExpire));
+        }
+        final AdmissionControl control = admission;
+        final long dispatchNanos = System.nanoTime();
+        return () -> {
+            if (control.admit(System.nanoTime() - dispatchNanos, dispatch.getPriority())) {
+                task.run();
+            } else {
+                dispatcher.getStats().recordShed();
+                shed.run();
+            }
+        };
+    }
+
+    private RequestDispatcher create(String name) {
+        switch (name) {
+            case CHANNEL:
+                return new OrderedRequestDispatcher(CHANNEL, false, getOrderedExecutor());
+            case KEY:
+                return new OrderedRequestDispatcher(KEY, true, getOrderedExecutor());
+            case POOL:
+                return new PoolRequestDispatcher(POOL, getSharedExecutor());
+            case VIRTUAL:
+                return new PoolRequestDispatcher(VIRTUAL, getVirtualExecutor());
+            case DIRECT:
+                return new DirectRequestDispatcher();
+            default:
+                logger.warn("Unknown provider dispatcher: " + name + ", use " + DIRECT);
+                return new DirectRequestDispatcher();
+        }
+    }
+
+    private synchronized ExecutorService getSharedExecutor() {
+        if (sharedExecutor == null) {
+            String threadPool = getThreadPoolName();
+            sharedExecutor = ThreadPoolFactory.getJdkTheadPool(url, "RPC-Provider-Invoke", threadPool);
+            logger.info(String.format("[Provider invoke thread pool                     ] : %s  ", threadPool));
+        }
+        return sharedExecutor;
+    }
+
+    /**
+     * 有序分发使用的线程池，忽略 thread.pool.reject 总是抛出异常拒绝，
+     * 其他拒绝策略会使 {@link com.bitactor.framework.core.threadpool.KeyedOrderedExecutor} 丢失队列或递归执行
+     *
+     * @return
+     */
+    private synchronized ExecutorService getOrderedExecutor() {
+        if (orderedExecutor == null) {
+            String threadPool = getThreadPoolName();
+            String reject = url.getParameter(NetConstants.THREAD_POOL_REJECT_KEY, NetConstants.DEFAULT_THREAD_POOL_REJECT);
+            if (RejectPolicy.of(reject) != RejectPolicy.ABORT) {
+                logger.warn("Provider ordered dispatchers ignore " + NetConstants.THREAD_POOL_REJECT_KEY + "=" + reject
+                        + ", rejected requests are answered as overloaded");
+            }
+            UrlProperties orderedUrl = url.addParameter(NetConstants.THREAD_POOL_REJECT_KEY, NetConstants.DEFAULT_THREAD_POOL_REJECT);
+            orderedExecutor = ThreadPoolFactory.getJdkTheadPool(orderedUrl, "RPC-Provider-Ordered", threadPool);
+            logger.info(String.format("[Provider ordered thread pool                    ] : %s  ", threadPool));
+        }
+        return orderedExecutor;
+    }
+
+    private String getThreadPoolName() {
+        String threadPool = url.getParameter(RPCConstants.PROVIDER_THREAD_POOL_KEY, RPCConstants.DEFAULT_PROVIDER_THREAD_POOL);
+        if (RPCConstants.DEFAULT_PROVIDER_THREAD_POOL.equals(threadPool)) {
+            threadPool = url.getParameter(NetConstants.THREAD_POOL_KEY, NetConstants.DEFAULT_THREAD_POOL);
+        }
+        return threadPool;
+    }
+
+    private synchronized ExecutorService getVirtualExecutor() {
+        if (virtualExecutor == null) {
+            virtualExecutor = ThreadPoolFactory.getJdkTheadPool(url, "RPC-Provider-Virtual", NetConstants.THREAD_POOL_VIRTUAL);
+        }
+        return virtualExecutor;
+    }
+
+    /**
+     * 各分发器的排队延迟统计
+     *
+     * @return 分发方式 -> 统计
+     */
+    public Map<String, DispatchStats> stats() {
+        Map<String, DispatchStats> stats = new LinkedHashMap<>();
+        for (RequestDispatcher dispatcher : dispatchers.values()) {
+            stats.put(dispatcher.getName(), dispatcher.getStats());
+        }
+        return stats;
+    }
+
+    public synchronized void shutdown() {
+        if (sharedExecutor != null) {
+            sharedExecutor.shutdown();
+            sharedExecutor = null;
+        }
+        if (orderedExecutor != null) {
+            orderedExecutor.shutdown();
+            orderedExecutor = null;
+        }
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdown();
+            virtualExecutor = null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.future;
+
+import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.RPCResponse;
+import com.bitactor.framework.core.rpc.api.router.ProviderStats;
+import io.netty.util.collection.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个连接上等待响应的请求表，请求id按连接分配；
+ * 使用 long 为键的开放寻址表，不同连接之间互不竞争，也不会为每次调用装箱请求id
+ *
+ * @author WXH
+ */
+public class PendingRequests {
+    private final LongObjectHashMap<RequestRPCFuture<RPCResponse>> futures = new LongObjectHashMap<>();
+    private long nextId = 1;
+    /**
+     * 连接关闭的原因，关闭后新请求直接失败
+     */
+    private Throwable closedCause;
+
+    /**
+     * 为请求分配当前连接上的请求id并登记
+     *
+     * @param request
+     * @return
+     */
+    public RequestRPCFuture<RPCResponse> add(RPCRequest request) {
+        return add(request, null);
+    }
+
+    /**
+     * 为请求分配当前连接上的请求id并登记，同时开始统计提供者的延迟
+     *
+     * @param request
+     * @param stats   请求发往的提供者的统计，调用方已通过 {@link ProviderStats#begin()} 计入在途请求
+     * @return
+     */
+    public RequestRPCFuture<RPCResponse> add(RPCRequest request, ProviderStats stats) {
+        RequestRPCFuture<RPCResponse> future = new RequestRPCFuture<>(request, stats);
+        synchronized (this) {
+            if (closedCause != null) {
+                future.end(false);
+                future.completeExceptionally(closedCause);
+                return future;
+            }
+            long reqId = nextId++;
+            request.setReqId(reqId);
+            futures.put(reqId, future);
+        }
+        return future;
+    }
+
+    public synchronized RequestRPCFuture<RPCResponse> remove(long reqId) {
+        return futures.remove(reqId);
+    }
+
+    public synchronized int size() {
+        return futures.size();
+    }
+
+    /**
+     * 关闭等待表，移除全部等待中的请求，此后登记的请求直接以关闭原因失败
+     *
+     * @param cause 关闭原因
+     * @return 关闭前等待中的请求
+     */
+    public synchronized List<RequestRPCFuture<RPCResponse>> close(Throwable cause) {
+        closedCause = cause;
+        List<RequestRPCFuture<RPCResponse>> list = new ArrayList<>(futures.values());
+        futures.clear();
+        return list;
+    }
+}
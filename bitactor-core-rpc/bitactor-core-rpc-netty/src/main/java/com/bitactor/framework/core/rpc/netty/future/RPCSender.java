@@ -18,6 +18,7 @@
 package com.bitactor.framework.core.rpc.netty.future;
 
 import com.bitactor.framework.core.constant.NetConstants;
+import com.bitactor.framework.core.exception.RpcException;
 import com.bitactor.framework.core.logger.Logger;
 import com.bitactor.framework.core.logger.LoggerFactory;
 import com.bitactor.framework.core.net.api.Channel;
@@ -25,13 +26,17 @@ import com.bitactor.framework.core.rpc.api.RPCRequest;
 import com.bitactor.framework.core.rpc.api.RPCResponse;
 import com.bitactor.framework.core.rpc.api.async.AsyncResult;
 import com.bitactor.framework.core.rpc.api.async.AsyncResultImpl;
+import com.bitactor.framework.core.rpc.api.router.ProviderStats;
+import com.bitactor.framework.core.rpc.api.type.ResponseType;
+import com.bitactor.framework.core.rpc.api.support.MethodDictionary;
 import com.bitactor.framework.core.rpc.netty.codec.MessageRPCRequest;
+import com.bitactor.framework.core.rpc.netty.codec.MessageRPCResponse;
+import com.bitactor.framework.core.rpc.netty.consumer.ConsumerChannel;
 import com.bitactor.framework.core.threadpool.NamedThreadFactory;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.*;
 
@@ -40,9 +45,11 @@ import java.util.concurrent.*;
  */
 public class RPCSender {
     private static final Logger logger = LoggerFactory.getLogger(RPCSender.class);
-    private static final Map<Long, RequestRPCFuture<RPCResponse>> FUTURES = new ConcurrentHashMap<>();
+    /**
+     * 非消费者连接使用的共享等待表
+     */
+    private static final PendingRequests SHARED_PENDING = new PendingRequests();
 
-    private static final ScheduledExecutorService TIMEOUT_SERVICE = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("RPC-Timeout", true));
     private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(NetConstants.DEFAULT_THREADS, new NamedThreadFactory("RPC-Async-callback-Pool", true));
 
     /**
@@ -93,17 +100,45 @@ public class RPCSender {
      */
     public static RequestRPCFuture<RPCResponse> async(Channel channel, RPCRequest request, long timeout) {
         final long finalTimeout = timeout > 0 ? timeout : channel.getUrl().getPositiveParameter(NetConstants.TIMEOUT_KEY, NetConstants.DEFAULT_TIMEOUT);
-        RequestRPCFuture<RPCResponse> future = new RequestRPCFuture<>(request);
-        FUTURES.put(request.getReqId(), future);
-        send(channel, request);
-        TIMEOUT_SERVICE.schedule(() -> {
-            if (Objects.nonNull(FUTURES.remove(request.getReqId()))) {
+        PendingRequests pending = pendingOf(channel);
+        ProviderStats stats = ProviderStats.of(channel);
+        if (!stats.begin()) {
+            // 达到提供者的并发上限，请求不发出
+            RequestRPCFuture<RPCResponse> rejected = new RequestRPCFuture<>(request);
+            rejected.completeExceptionally(new RpcException(RpcException.LIMIT_EXCEPTION, "rpc request rejected by concurrency limit: "
+                    + stats.getLimit() + ", api: " + request.getApiId() + ", provider: " + stats.getProvider()));
+            return rejected;
+        }
+        RequestRPCFuture<RPCResponse> future = pending.add(request, stats);
+        if (future.isDone()) {
+            // 连接已关闭
+            return future;
+        }
+        final long reqId = request.getReqId();
+        future.setTimeout(RPCTimeoutScheduler.newTimeout(channel.getUrl(), t -> {
+            if (Objects.nonNull(pending.remove(reqId))) {
+                RPCTimeoutScheduler.expired();
+                future.end(false);
                 future.completeExceptionally(new TimeoutException("rpc request failed by timeout, id:" + request.getReqId() + "api: " + request.getApiId() + " timeout :" + finalTimeout + " ms"));
             }
-        }, finalTimeout, TimeUnit.MILLISECONDS);
+        }, finalTimeout));
+        send(channel, request);
         return future;
     }
 
+    /**
+     * 获取连接上的等待表
+     *
+     * @param channel
+     * @return
+     */
+    private static PendingRequests pendingOf(Channel channel) {
+        if (channel instanceof ConsumerChannel) {
+            return ((ConsumerChannel) channel).getPendingRequests();
+        }
+        return SHARED_PENDING;
+    }
+
     /**
      * 仅发送消息
      *
@@ -112,40 +147,127 @@ public class RPCSender {
      * @return
      */
     public static void send(Channel channel, RPCRequest request) {
-        channel.send(new MessageRPCRequest(request));
+        channel.send(new MessageRPCRequest(toWireRequest(channel, request)));
+    }
+
+    /**
+     * 连接上已协商方法id时，只发送携带方法id的精简请求
+     *
+     * @param channel
+     * @param request
+     * @return
+     */
+    private static RPCRequest toWireRequest(Channel channel, RPCRequest request) {
+        if (request.getSignature() != null && channel instanceof ConsumerChannel) {
+            int methodId = ((ConsumerChannel) channel).getMethodId(request.getSignature());
+            if (methodId != MethodDictionary.NONE_ID) {
+                return request.compact(methodId);
+            }
+        }
+        return request;
     }
 
     public static void received(RPCResponse response, Channel channel) {
-        RequestRPCFuture<RPCResponse> future = FUTURES.remove(response.getRequest().getReqId());
+        RequestRPCFuture<RPCResponse> future = pendingOf(channel).remove(response.getReqId());
+        if (future != null) {
+            future.cancelTimeout();
+            future.end(response.getStatus() != ResponseType.OVERLOAD);
+            RPCTimeoutScheduler.completed();
+            EXECUTOR_SERVICE.execute(() -> complete(future, response));
+        } else {
+            logTimeoutResponse(response.getReqId(), response, channel);
+        }
+
+    }
+
+    /**
+     * 收到响应，按消息头中的请求id匹配等待中的请求，消息体在回调线程上反序列化
+     *
+     * @param message
+     * @param channel
+     */
+    public static void received(MessageRPCResponse message, Channel channel) {
+        if (message.isDecoded()) {
+            received(message.getResponse(), channel);
+            return;
+        }
+        RequestRPCFuture<RPCResponse> future = pendingOf(channel).remove(message.getReqId());
         if (future != null) {
+            future.cancelTimeout();
+            long receivedNanos = System.nanoTime();
+            RPCTimeoutScheduler.completed();
             EXECUTOR_SERVICE.execute(() -> {
-                if (future.getRequest().getInvocation().isAsync()) {
-                    List<AsyncResult> callbacks = future.getRequest().getInvocation().getCallbacks();
-                    int offset = 0;
-                    for (Object argument : response.getRequest().getInvocation().getArguments()) {
-                        if (argument instanceof AsyncResultImpl) {
-                            AsyncResultImpl proxy = (AsyncResultImpl) argument;
-                            AsyncResult callback = callbacks.get(offset);
-                            callback.callback(proxy.getArgs(), proxy.getCause());
-                            offset++;
-                        }
-                    }
+                RPCResponse response;
+                try {
+                    response = message.getResponse();
+                } catch (Throwable e) {
+                    future.end(false, receivedNanos);
+                    future.completeExceptionally(e);
+                    return;
                 }
-                future.complete(response);
+                // 响应状态在解码后才能确定，耗时仍按收到响应的时间计算
+                future.end(response.getStatus() != ResponseType.OVERLOAD, receivedNanos);
+                complete(future, response);
             });
         } else {
-            RPCRequest request = response.getRequest();
-            logger.warn("The timeout response" + " id:" + request.getReqId() + "api: " + request.getApiId() + " finally returned at "
-                    + (new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date()))
-                    + ", response " + response
-                    + (channel == null ? "" : ", channel: " + channel.getLocalAddress()
-                    + " -> " + channel.getRemoteAddress()));
+            // 已超时的响应不再反序列化消息体
+            logTimeoutResponse(message.getReqId(), null, channel);
         }
+    }
 
+    private static void complete(RequestRPCFuture<RPCResponse> future, RPCResponse response) {
+        if (response.getStatus() == ResponseType.OVERLOAD) {
+            // 提供者过载未执行，可安全重试到其他提供者
+            future.completeExceptionally(new RpcException(RpcException.OVERLOAD_EXCEPTION, response.getErrorMsg()));
+            return;
+        }
+        // 响应中不再携带请求，关联为本地的原始请求
+        response.setRequest(future.getRequest());
+        if (future.getRequest().getInvocation().isAsync() && response.hasWriteBack()) {
+            List<AsyncResult> callbacks = future.getRequest().getInvocation().getCallbacks();
+            int offset = 0;
+            for (Object argument : response.getWriteBackArgs()) {
+                if (argument instanceof AsyncResultImpl) {
+                    AsyncResultImpl proxy = (AsyncResultImpl) argument;
+                    AsyncResult callback = callbacks.get(offset);
+                    callback.callback(proxy.getArgs(), proxy.getCause());
+                    offset++;
+                }
+            }
+        }
+        future.complete(response);
+    }
+
+    private static void logTimeoutResponse(long reqId, RPCResponse response, Channel channel) {
+        logger.warn("The timeout response" + " id:" + reqId + " finally returned at "
+                + (new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date()))
+                + (response == null ? "" : ", response " + response)
+                + (channel == null ? "" : ", channel: " + channel.getLocalAddress()
+                + " -> " + channel.getRemoteAddress()));
+    }
+
+    /**
+     * 连接断开时立即失败该连接上全部等待中的请求，不再等待超时
+     *
+     * @param channel
+     */
+    public static void failPending(ConsumerChannel channel) {
+        RpcException cause = new RpcException(RpcException.NETWORK_EXCEPTION, "rpc request failed by channel closed, channel: "
+                + channel.getLocalAddress() + " -> " + channel.getRemoteAddress());
+        List<RequestRPCFuture<RPCResponse>> futures = channel.getPendingRequests().close(cause);
+        for (RequestRPCFuture<RPCResponse> future : futures) {
+            future.cancelTimeout();
+            future.end(false);
+            future.completeExceptionally(cause);
+        }
+        if (!futures.isEmpty()) {
+            logger.warn("fail " + futures.size() + " pending rpc requests by channel closed, channel: "
+                    + channel.getLocalAddress() + " -> " + channel.getRemoteAddress());
+        }
     }
 
     public static void shutdown() {
-        TIMEOUT_SERVICE.shutdown();
+        RPCTimeoutScheduler.shutdown();
         EXECUTOR_SERVICE.shutdown();
     }
 }
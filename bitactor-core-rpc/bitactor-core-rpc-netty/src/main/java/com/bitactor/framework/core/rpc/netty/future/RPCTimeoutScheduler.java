@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bitactor.framework.core.rpc.netty.future;
+
+import com.bitactor.framework.core.config.UrlProperties;
+import com.bitactor.framework.core.constant.RPCConstants;
+import com.bitactor.framework.core.logger.Logger;
+import com.bitactor.framework.core.logger.LoggerFactory;
+import com.bitactor.framework.core.threadpool.NamedThreadFactory;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * rpc请求超时调度，基于时间轮实现，插入和取消均为 O(1)；
+ * 请求收到响应时取消对应的超时任务，不会在调度队列中残留已完成请求的任务。
+ * 时间轮全进程只有一个，刻度和槽数取自首个使用它的url，之后的url配置不同时只记录警告
+ *
+ * @author WXH
+ */
+public class RPCTimeoutScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(RPCTimeoutScheduler.class);
+    private static volatile HashedWheelTimer timer;
+    private static int timerTick;
+    private static int timerWheel;
+    /**
+     * 最近检查过配置的url，连接通常共用同一个url对象，只在url变化时重新比较
+     */
+    private static volatile UrlProperties checkedUrl;
+    /**
+     * 正常完成的请求数
+     */
+    private static final LongAdder COMPLETED = new LongAdder();
+    /**
+     * 超时的请求数
+     */
+    private static final LongAdder EXPIRED = new LongAdder();
+
+    private RPCTimeoutScheduler() {
+    }
+
+    /**
+     * 添加超时任务，时间轮在首次使用时按url中的刻度和槽数创建，之后的url中的刻度和槽数不再生效
+     *
+     * @param url     当前连接的url
+     * @param task    超时任务
+     * @param timeout 超时时间（毫秒）
+     * @return
+     */
+    public static Timeout newTimeout(UrlProperties url, TimerTask task, long timeout) {
+        return getTimer(url).newTimeout(task, timeout, TimeUnit.MILLISECONDS);
+    }
+
+    private static HashedWheelTimer getTimer(UrlProperties url) {
+        HashedWheelTimer current = timer;
+        if (current == null) {
+            synchronized (RPCTimeoutScheduler.class) {
+                current = timer;
+                if (current == null) {
+                    int tick = url.getPositiveParameter(RPCConstants.RPC_TIMEOUT_TICK_KEY, RPCConstants.DEFAULT_RPC_TIMEOUT_TICK);
+                    int wheel = url.getPositiveParameter(RPCConstants.RPC_TIMEOUT_WHEEL_KEY, RPCConstants.DEFAULT_RPC_TIMEOUT_WHEEL);
+                    current = new HashedWheelTimer(new NamedThreadFactory("RPC-Timeout", true), tick, TimeUnit.MILLISECONDS, wheel);
+                    timerTick = tick;
+                    timerWheel = wheel;
+                    checkedUrl = url;
+                    timer = current;
+                }
+            }
+        }
+        if (url != checkedUrl) {
+            checkConfig(url);
+        }
+        return current;
+    }
+
+    private static synchronized void checkConfig(UrlProperties url) {
+        if (url == checkedUrl) {
+            return;
+        }
+        checkedUrl = url;
+        int tick = url.getPositiveParameter(RPCConstants.RPC_TIMEOUT_TICK_KEY, RPCConstants.DEFAULT_RPC_TIMEOUT_TICK);
+        int wheel = url.getPositiveParameter(RPCConstants.RPC_TIMEOUT_WHEEL_KEY, RPCConstants.DEFAULT_RPC_TIMEOUT_WHEEL);
+        if (tick != timerTick || wheel != timerWheel) {
+            logger.warn("RPC timeout wheel is shared by the process and already created with " + RPCConstants.RPC_TIMEOUT_TICK_KEY + "=" + timerTick
+                    + " " + RPCConstants.RPC_TIMEOUT_WHEEL_KEY + "=" + timerWheel + ", ignore " + tick + "/" + wheel + " of url: " + url.getGroupAndId());
+        }
+    }
+
+    public static void completed() {
+        COMPLETED.increment();
+    }
+
+    public static void expired() {
+        EXPIRED.increment();
+    }
+
+    public static long getCompletedCount() {
+        return COMPLETED.sum();
+    }
+
+    public static long getExpiredCount() {
+        return EXPIRED.sum();
+    }
+
+    /**
+     * 当前等待中的超时任务数
+     *
+     * @return
+     */
+    public static long getPendingTimeouts() {
+        HashedWheelTimer current = timer;
+        return current == null ? 0 : current.pendingTimeouts();
+    }
+
+    public static synchronized void shutdown() {
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+    }
+}
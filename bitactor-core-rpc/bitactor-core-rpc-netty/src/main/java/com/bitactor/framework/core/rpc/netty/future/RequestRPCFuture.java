@@ -18,6 +18,8 @@
 package com.bitactor.framework.core.rpc.netty.future;
 
 import com.bitactor.framework.core.rpc.api.RPCRequest;
+import com.bitactor.framework.core.rpc.api.router.ProviderStats;
+import io.netty.util.Timeout;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -27,12 +29,63 @@ import java.util.concurrent.CompletableFuture;
 public class RequestRPCFuture<V> extends CompletableFuture<V> {
 
     private final RPCRequest request;
+    /**
+     * 请求的超时任务，收到响应时取消
+     */
+    private volatile Timeout timeout;
+    /**
+     * 请求发往的提供者的统计，请求已计入其在途请求数，为 null 时不统计
+     */
+    private final ProviderStats stats;
+    private final long startNanos;
 
     public RequestRPCFuture(RPCRequest request) {
+        this(request, null);
+    }
+
+    public RequestRPCFuture(RPCRequest request, ProviderStats stats) {
         this.request = request;
+        this.stats = stats;
+        this.startNanos = System.nanoTime();
     }
 
     public RPCRequest getRequest() {
         return request;
     }
+
+    public void setTimeout(Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * 请求结束时更新提供者统计，每个请求只调用一次
+     *
+     * @param success 是否收到响应
+     */
+    public void end(boolean success) {
+        end(success, System.nanoTime());
+    }
+
+    /**
+     * 请求结束时更新提供者统计，每个请求只调用一次
+     *
+     * @param success  是否成功
+     * @param endNanos 收到响应的时间，响应延迟解码时在解码后才能判断结果
+     */
+    public void end(boolean success, long endNanos) {
+        if (stats != null) {
+            stats.end(endNanos - startNanos, success);
+        }
+    }
+
+    /**
+     * 取消超时任务
+     */
+    public void cancelTimeout() {
+        Timeout current = this.timeout;
+        if (current != null) {
+            current.cancel();
+            this.timeout = null;
+        }
+    }
 }
@@ -18,9 +18,12 @@
 package com.bitactor.framework.core.rpc.netty.provider;
 
 
+import com.bitactor.framework.core.config.UrlProperties;
 import com.bitactor.framework.core.net.api.Channel;
 import com.bitactor.framework.core.net.api.ChannelContext;
 import com.bitactor.framework.core.net.api.ChannelManager;
+import com.bitactor.framework.core.net.api.HandShakeDataBound;
+import com.bitactor.framework.core.net.api.transport.HandShakeData;
 import com.bitactor.framework.core.rpc.api.ListenerAssist;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,7 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * @author WXH
  */
-public class ProviderListener implements ChannelManager {
+public class ProviderListener implements ChannelManager, HandShakeDataBound {
     private ListenerAssist listenerAssist;
 
     public ProviderListener(ListenerAssist listenerAssist) {
@@ -62,6 +65,13 @@ public class ProviderListener implements ChannelManager {
         listenerAssist.shutdownNotify();
     }
 
+    @Override
+    public void buildCustomHandShakeData(HandShakeData handShakeData, UrlProperties url) {
+        if (listenerAssist instanceof HandShakeDataBound) {
+            ((HandShakeDataBound) listenerAssist).buildCustomHandShakeData(handShakeData, url);
+        }
+    }
+
     public Channel getChannel(String channelId) {
         return channels.get(channelId);
     }